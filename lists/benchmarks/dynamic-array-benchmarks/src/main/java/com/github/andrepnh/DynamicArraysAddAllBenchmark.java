@@ -6,9 +6,12 @@ import java.util.Random;
 import java.util.stream.Collectors;
 import lists.impl.BulkOptimizedDynamicArray;
 import lists.impl.DynamicArray;
+import lists.impl.GrowthPolicy;
 import lists.impl.ToyList;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 public class DynamicArraysAddAllBenchmark {
@@ -42,6 +45,11 @@ public class DynamicArraysAddAllBenchmark {
      * my machine. There's something deeper going on here.
      * Anyway, serves to prove that guessing performance is tricky business. 
      * Just measure it.
+     * 
+     * Update: the deeper thing was a bug. Capacity planning multiplied the 
+     * array length instead of dividing by it, so every addAll allocated an 
+     * array thousands of times bigger than needed. Growth is now delegated to
+     * a GrowthPolicy; see benchmarkBulkOptimizedDynamicArrayPerGrowthPolicy.
      */
     @Benchmark
     public ToyList<Integer> benchmarkBulkOptimizedDynamicArray(BigCollection coll) {
@@ -50,6 +58,48 @@ public class DynamicArraysAddAllBenchmark {
         return darray;
     }
     
+    @State(Scope.Thread)
+    public static class Policy {
+        @Param({"doubling", "oneAndAHalf", "fixedIncrement", "exactFitForBulk",
+            "capped"})
+        public String name;
+        
+        public GrowthPolicy value;
+        
+        @Setup
+        public void setup() {
+            switch (name) {
+                case "doubling":
+                    value = GrowthPolicy.doubling();
+                    break;
+                case "oneAndAHalf":
+                    value = GrowthPolicy.oneAndAHalf();
+                    break;
+                case "fixedIncrement":
+                    value = GrowthPolicy.fixedIncrement(4096);
+                    break;
+                case "exactFitForBulk":
+                    value = GrowthPolicy.exactFitForBulk(GrowthPolicy.doubling());
+                    break;
+                case "capped":
+                    value = GrowthPolicy.capped(GrowthPolicy.doubling(), 4096);
+                    break;
+                default:
+                    throw new IllegalArgumentException(name);
+            }
+        }
+    }
+    
+    @Benchmark
+    public ToyList<Integer> benchmarkBulkOptimizedDynamicArrayPerGrowthPolicy(
+            BigCollection coll, Policy policy) {
+        BulkOptimizedDynamicArray<Integer> darray 
+                = new BulkOptimizedDynamicArray<>(32, policy.value);
+        darray.addAll(coll.value);
+        darray.addAll(coll.value);
+        return darray;
+    }
+    
     @Benchmark
     public ToyList<Integer> benchmarkDynamicArrayConsumingArrayList(BigCollection coll) {
         DynamicArray<Integer> darray = new DynamicArray<>();
@@ -3,6 +3,7 @@ package com.github.andrepnh.hybrid.list.benchmarks;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.concurrent.TimeUnit;
+import lists.impl.BTreeList;
 import lists.impl.HybridList;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -16,7 +17,8 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
 /**
- * Benchmarks for HybridList's addAt method compared to its java.util counterparts.
+ * Benchmarks for HybridList's addAt method compared to its java.util counterparts
+ * and to BTreeList.
  */
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @Warmup(iterations = 10, batchSize = 10000)
@@ -74,6 +76,16 @@ public class AddAtBenchmark {
         }
     }
 
+    @State(Scope.Thread)
+    public static class DefaultBTreeList {
+        final BTreeList<Integer> list = new BTreeList<>();
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            list.clear();
+        }
+    }
+
     @Benchmark
     public void addAtBeginningArrayListBenchmark(DefaultArrayList state) {
         state.list.add(0, 42);
@@ -100,6 +112,11 @@ public class AddAtBenchmark {
         state.list.addAt(0, 42);
     }
 
+    @Benchmark
+    public void addAtBeginningBTreeListBenchmark(DefaultBTreeList state) {
+        state.list.addAt(0, 42);
+    }
+
     @Benchmark
     public void addAtMiddleArrayListBenchmark(DefaultArrayList state) {
         state.list.add(state.list.size() / 2, 42);
@@ -126,6 +143,11 @@ public class AddAtBenchmark {
         state.list.addAt(state.list.size() / 2, 42);
     }
     
+    @Benchmark
+    public void addAtMiddleBTreeListBenchmark(DefaultBTreeList state) {
+        state.list.addAt(state.list.size() / 2, 42);
+    }
+    
     @Benchmark
     public void addAtEndArrayListBenchmark(DefaultArrayList state) {
         state.list.add(42);
@@ -151,4 +173,9 @@ public class AddAtBenchmark {
             SmallRowSizeHybridList state) {
         state.list.add(42);
     }
+
+    @Benchmark
+    public void addAtEndBTreeListBenchmark(DefaultBTreeList state) {
+        state.list.add(42);
+    }
 }
@@ -0,0 +1,143 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lists.impl.ToyList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Thread-safe lists under concurrent access: every thread in a group shares 
+ * the same list. Each scenario is measured both as throughput and as sampled 
+ * latency, whose percentiles show the tail that waiting for locks adds.
+ * 
+ * Thread counts per group are just defaults; scale them from the command 
+ * line with -tg, e.g. -tg 6,2 for six readers and two writers.
+ * 
+ * Writers keep the list's size at or above its initial one, so readers 
+ * always have valid indexes to pick from.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContentionBenchmark {
+    
+    @State(Scope.Group)
+    public static class Shared {
+        @Param({"SynchronizedDynamicArray", "SynchronizedHybridList", 
+            "ConcurrentHybridList", "SynchronizedArrayList", 
+            "CopyOnWriteArrayList"})
+        public String implementation;
+        
+        @Param({"1000", "100000"})
+        public int size;
+        
+        @Param({"1024"})
+        public int rowSize;
+        
+        public ToyList<Integer> list;
+        
+        @Setup(Level.Iteration)
+        public void setup() {
+            list = ToyLists.create(implementation, rowSize);
+            for (int i = 0; i < size; i++) {
+                list.add(i);
+            }
+        }
+        
+        int randomIndex() {
+            return ThreadLocalRandom.current().nextInt(size);
+        }
+    }
+    
+    @Benchmark
+    @Group("readersVsWriter")
+    @GroupThreads(3)
+    public Integer readersVsWriterGet(Shared shared) {
+        return shared.list.get(shared.randomIndex());
+    }
+    
+    @Benchmark
+    @Group("readersVsWriter")
+    @GroupThreads(1)
+    public Integer readersVsWriterSet(Shared shared) {
+        return shared.list.set(shared.randomIndex(), 42);
+    }
+    
+    /**
+     * Stops adding once the list doubles its initial size, give or take a 
+     * producer or two, like a bounded queue. Otherwise producers would grow 
+     * it without limit and consumers would only get slower.
+     */
+    @Benchmark
+    @Group("producerConsumer")
+    @GroupThreads(2)
+    public boolean producerConsumerProduce(Shared shared) {
+        if (shared.list.size() >= 2 * shared.size) {
+            return false;
+        }
+        shared.list.add(42);
+        return true;
+    }
+    
+    /**
+     * Takes from the head, like a queue would, which makes array based lists 
+     * shift everything while holding their lock. Consumers take turns, so 
+     * the size they check is still there when they remove, and never take 
+     * the list below its initial size.
+     */
+    @Benchmark
+    @Group("producerConsumer")
+    @GroupThreads(2)
+    public Integer producerConsumerConsume(Shared shared) {
+        synchronized (shared) {
+            return shared.list.size() > shared.size 
+                    ? shared.list.removeAt(0) 
+                    : null;
+        }
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public Integer mixedGet(Shared shared) {
+        return shared.list.get(shared.randomIndex());
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Integer mixedSet(Shared shared) {
+        return shared.list.set(shared.randomIndex(), 42);
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Integer mixedInsertAndRemove(Shared shared) {
+        shared.list.addAt(shared.randomIndex(), 42);
+        return shared.list.removeAt(shared.randomIndex());
+    }
+    
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public int mixedIndexOf(Shared shared) {
+        return shared.list.indexOf(-1);
+    }
+    
+}
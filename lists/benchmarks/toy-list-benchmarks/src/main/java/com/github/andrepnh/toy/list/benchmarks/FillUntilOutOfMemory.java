@@ -0,0 +1,80 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import lists.impl.ToyList;
+
+/**
+ * The 64m heap experiment from HybridList's docs, made repeatable: each list 
+ * gets a JVM of its own with a small heap and is filled with Integers until 
+ * it runs out of memory. Reports how many elements it held and how much time 
+ * the JVM spent collecting garbage until then.
+ * 
+ * java -cp target/benchmarks.jar 
+ *     com.github.andrepnh.toy.list.benchmarks.FillUntilOutOfMemory 
+ *     [heap, e.g. 64m] [rowSize]
+ */
+public class FillUntilOutOfMemory {
+    
+    private static final List<String> IMPLEMENTATIONS = Arrays.asList(
+            "ArrayList", "LinkedList", "DynamicArray", "HybridList", 
+            "ElasticHybridList");
+    
+    public static void main(String[] args) 
+            throws IOException, InterruptedException {
+        if (args.length == 3 && args[0].equals("--fill")) {
+            fill(args[1], Integer.parseInt(args[2]));
+            return;
+        }
+        String heap = args.length > 0 ? args[0] : "64m";
+        String rowSize = args.length > 1 ? args[1] : "1024";
+        System.out.printf("%-20s %14s %12s%n", 
+                "Implementation", "elements", "gc time (ms)");
+        for (String implementation : IMPLEMENTATIONS) {
+            Process child = new ProcessBuilder(
+                    System.getProperty("java.home") + File.separator + "bin" 
+                            + File.separator + "java",
+                    "-Xms" + heap, "-Xmx" + heap,
+                    "-cp", System.getProperty("java.class.path"),
+                    FillUntilOutOfMemory.class.getName(), 
+                    "--fill", implementation, rowSize)
+                    .redirectErrorStream(true)
+                    .start();
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(child.getInputStream()))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    System.out.println(line);
+                }
+            }
+            child.waitFor();
+        }
+    }
+    
+    private static void fill(String implementation, int rowSize) {
+        ToyList<Object> list = ToyLists.create(implementation, rowSize);
+        int added = 0;
+        try {
+            while (true) {
+                list.add(added);
+                added++;
+            }
+        } catch (OutOfMemoryError e) {
+            // Whatever's needed to report has to fit in what's left
+            list = null;
+        }
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc 
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcMillis += Math.max(gc.getCollectionTime(), 0);
+        }
+        System.out.printf("%-20s %14d %12d%n", implementation, added, gcMillis);
+    }
+    
+}
@@ -0,0 +1,33 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with JMH's gc profiler always on, so every result 
+ * comes with gc.alloc.rate.norm - bytes allocated per operation - and 
+ * gc.time. Takes the same arguments as the benchmarks jar, e.g.:
+ * 
+ * java -cp target/benchmarks.jar 
+ *     com.github.andrepnh.toy.list.benchmarks.GcProfile 
+ *     ToyListBenchmark.iterate -p implementation=ArrayList,HybridList
+ * 
+ * Which is the same as passing -prof gc, minus having to remember it.
+ */
+public class GcProfile {
+    
+    public static void main(String[] args) 
+            throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+    
+}
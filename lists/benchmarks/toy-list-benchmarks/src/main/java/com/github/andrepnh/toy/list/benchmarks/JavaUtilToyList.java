@@ -0,0 +1,100 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import lists.impl.ToyList;
+
+/**
+ * Lets java.util lists stand in for ToyLists, so they can be benchmarked 
+ * side by side. Every call goes straight to the wrapped list.
+ */
+public class JavaUtilToyList<T> implements ToyList<T> {
+    
+    private final List<T> list;
+
+    public JavaUtilToyList(List<T> list) {
+        this.list = list;
+    }
+
+    @Override
+    public void add(T element) {
+        list.add(element);
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        list.addAll(coll);
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        list.addAll(index, coll);
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        list.add(index, value);
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public T get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public int indexOf(T value) {
+        return list.indexOf(value);
+    }
+
+    @Override
+    public T removeAt(int index) {
+        return list.remove(index);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        list.subList(fromIndex, toIndex).clear();
+    }
+
+    @Override
+    public T set(int index, T value) {
+        return list.set(index, value);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public List<T> asList() {
+        return new ArrayList<>(list);
+    }
+
+    /**
+     * LinkedLists would be walked once per element through the default, 
+     * get based, view and spliterator.
+     */
+    @Override
+    public List<T> view() {
+        return list;
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+    
+}
@@ -0,0 +1,70 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lists.impl.ToyList;
+
+/**
+ * Measures how many bytes each list retains per element, not counting the 
+ * elements themselves: they're created up front and shared by every list, 
+ * so only the list's own structure - arrays, rows, nodes - is measured.
+ * 
+ * Heap usage is read after a few rounds of System.gc(), which is good enough 
+ * for lists this big, as long as nothing else is running. Use a fixed heap 
+ * (-Xms equal to -Xmx) to keep resizing out of the numbers:
+ * 
+ * java -Xms2g -Xmx2g -cp target/benchmarks.jar 
+ *     com.github.andrepnh.toy.list.benchmarks.RetainedSize [elements] [rowSize]
+ */
+public class RetainedSize {
+    
+    private static final String[] IMPLEMENTATIONS = {"ArrayList", "LinkedList",
+        "DynamicArray", "BulkOptimizedDynamicArray", "HybridList", 
+        "ElasticHybridList"};
+    
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int rowSize = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        List<Object> values = new ArrayList<>(elements);
+        Random rng = new Random(42);
+        for (int i = 0; i < elements; i++) {
+            values.add(ToyLists.element("Integer", rng));
+        }
+        
+        System.out.printf("%-28s %14s%n", "Implementation", "bytes/element");
+        for (String implementation : IMPLEMENTATIONS) {
+            // Once to warm up, once for real
+            measure(implementation, rowSize, values);
+            System.out.printf("%-28s %14.2f%n", implementation, 
+                    measure(implementation, rowSize, values));
+        }
+    }
+    
+    private static double measure(
+            String implementation, int rowSize, List<Object> values) {
+        long before = usedHeap();
+        ToyList<Object> list = ToyLists.create(implementation, rowSize);
+        for (Object value : values) {
+            list.add(value);
+        }
+        long after = usedHeap();
+        if (list.size() != values.size()) {
+            throw new AssertionError("Keeps the list reachable until here");
+        }
+        return (after - before) / (double) values.size();
+    }
+    
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+    
+}
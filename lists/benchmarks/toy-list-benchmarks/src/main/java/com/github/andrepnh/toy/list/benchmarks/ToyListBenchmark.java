@@ -0,0 +1,165 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import lists.impl.ToyList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Every ToyList operation against every implementation, with ArrayList and 
+ * LinkedList as baselines. The whole matrix takes hours, so narrow it down 
+ * from the command line, e.g.:
+ * 
+ * java -jar target/benchmarks.jar ToyListBenchmark.get -p size=100000 
+ *     -p implementation=ArrayList,HybridList -p rowSize=1024
+ * 
+ * rowSize is ignored by lists without rows, which makes their results for 
+ * each row size a free sanity check on the noise.
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+public class ToyListBenchmark {
+    
+    @State(Scope.Thread)
+    public static class Fixture {
+        @Param({"ArrayList", "LinkedList", "DynamicArray", 
+            "BulkOptimizedDynamicArray", "HybridList", "ElasticHybridList", 
+            "ConcurrentHybridList", "IndexedDynamicArray", "GapBuffer", 
+            "CircularDynamicArray", "BTreeList"})
+        public String implementation;
+        
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+        
+        @Param({"1024", "100000"})
+        public int rowSize;
+        
+        @Param({"Integer", "String"})
+        public String elementType;
+        
+        public ToyList<Object> list;
+        
+        // Elements not in the list, to be added by the benchmarks
+        public List<Object> extraElements;
+        
+        // Precomputed so picking an index doesn't end up being measured
+        public int[] indexes;
+        
+        // What indexOf looks for, precomputed for the same reason
+        public Object middle;
+        
+        private int next;
+        
+        @Setup(Level.Trial)
+        public void setup() {
+            Random rng = new Random(42);
+            list = ToyLists.create(implementation, rowSize);
+            list.addAll(elements(size, rng));
+            extraElements = elements(size, rng);
+            indexes = rng.ints(1 << 12, 0, size).toArray();
+            middle = list.get(size / 2);
+        }
+        
+        public int nextIndex() {
+            return indexes[next++ & (indexes.length - 1)];
+        }
+        
+        public Object nextElement() {
+            return extraElements.get(next++ % extraElements.size());
+        }
+        
+        List<Object> elements(int quantity, Random rng) {
+            List<Object> elements = new ArrayList<>(quantity);
+            for (int i = 0; i < quantity; i++) {
+                elements.add(ToyLists.element(elementType, rng));
+            }
+            return elements;
+        }
+    }
+    
+    /**
+     * For benchmarks that need a fresh, filled list every time.
+     */
+    @State(Scope.Thread)
+    public static class Refilled {
+        public ToyList<Object> list;
+        
+        @Setup(Level.Invocation)
+        public void setup(Fixture fixture) {
+            list = ToyLists.create(fixture.implementation, fixture.rowSize);
+            list.addAll(fixture.extraElements);
+        }
+    }
+    
+    @Benchmark
+    public Object get(Fixture fixture) {
+        return fixture.list.get(fixture.nextIndex());
+    }
+    
+    @Benchmark
+    public Object set(Fixture fixture) {
+        return fixture.list.set(fixture.nextIndex(), fixture.nextElement());
+    }
+    
+    @Benchmark
+    public int indexOf(Fixture fixture) {
+        return fixture.list.indexOf(fixture.middle);
+    }
+    
+    /**
+     * Removes a random element and appends another one, so the list keeps its
+     * size. Appending is amortized O(1) everywhere, so removing dominates.
+     */
+    @Benchmark
+    public Object removeAt(Fixture fixture) {
+        Object removed = fixture.list.removeAt(fixture.nextIndex());
+        fixture.list.add(removed);
+        return removed;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    public ToyList<Object> addAll(Fixture fixture) {
+        ToyList<Object> list 
+                = ToyLists.create(fixture.implementation, fixture.rowSize);
+        list.addAll(fixture.extraElements);
+        return list;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterate(Fixture fixture, Blackhole blackhole) {
+        fixture.list.spliterator().forEachRemaining(blackhole::consume);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 10)
+    public ToyList<Object> clear(Refilled refilled) {
+        refilled.list.clear();
+        return refilled.list;
+    }
+    
+}
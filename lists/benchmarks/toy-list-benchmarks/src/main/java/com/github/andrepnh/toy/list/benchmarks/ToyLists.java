@@ -0,0 +1,80 @@
+package com.github.andrepnh.toy.list.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lists.impl.BTreeList;
+import lists.impl.BulkOptimizedDynamicArray;
+import lists.impl.CircularDynamicArray;
+import lists.impl.ConcurrentHybridList;
+import lists.impl.DynamicArray;
+import lists.impl.ElasticHybridList;
+import lists.impl.GapBuffer;
+import lists.impl.HybridList;
+import lists.impl.IndexedToyList;
+import lists.impl.SynchronizedToyList;
+import lists.impl.ToyList;
+
+/**
+ * Every list the benchmarks know how to build, by name, so they can be picked 
+ * through @Param. Row sizes only matter for the row based ones.
+ */
+public final class ToyLists {
+    
+    private ToyLists() { }
+    
+    public static <T> ToyList<T> create(String implementation, int rowSize) {
+        switch (implementation) {
+            case "ArrayList":
+                return new JavaUtilToyList<>(new ArrayList<>());
+            case "LinkedList":
+                return new JavaUtilToyList<>(new LinkedList<>());
+            case "DynamicArray":
+                return new DynamicArray<>();
+            case "BulkOptimizedDynamicArray":
+                return new BulkOptimizedDynamicArray<>();
+            case "CircularDynamicArray":
+                return new CircularDynamicArray<>();
+            case "HybridList":
+                return new HybridList<>(rowSize);
+            case "ElasticHybridList":
+                return new ElasticHybridList<>(rowSize);
+            case "ConcurrentHybridList":
+                return new ConcurrentHybridList<>(rowSize);
+            case "BTreeList":
+                return new BTreeList<>();
+            case "GapBuffer":
+                return new GapBuffer<>();
+            case "IndexedDynamicArray":
+                return new IndexedToyList<>(new DynamicArray<>());
+            case "SynchronizedDynamicArray":
+                return new SynchronizedToyList<>(new DynamicArray<>());
+            case "SynchronizedHybridList":
+                return new SynchronizedToyList<>(new HybridList<>(rowSize));
+            case "SynchronizedArrayList":
+                return new JavaUtilToyList<>(
+                        Collections.synchronizedList(new ArrayList<>()));
+            case "CopyOnWriteArrayList":
+                return new JavaUtilToyList<>(new CopyOnWriteArrayList<>());
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+    
+    /**
+     * Returns a random element of the given type: Integer or String.
+     */
+    public static Object element(String type, Random rng) {
+        switch (type) {
+            case "Integer":
+                return rng.nextInt();
+            case "String":
+                return Long.toHexString(rng.nextLong());
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+    
+}
@@ -0,0 +1,223 @@
+package lists.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * A list that picks its own layout. It starts as a DynamicArray, which wins
+ * at appending and random access, and watches what it's used for: once
+ * inserts and removals in the middle - where an array shifts half of itself
+ * on average - make rows worth it, it moves everything into an
+ * ElasticHybridList. If access goes back to being mostly gets and sets, it
+ * moves back.
+ *
+ * Operations are tallied over windows of WINDOW calls and priced with a rough
+ * cost model, in units of one random access:
+ *
+ * - array: 1 per get, set or append, plus SHIFT_COST per shifted element
+ * for edits in the middle;
+ * - rows: an extra log2(rows) per call to find the row, an extra 1 per
+ * append, and edits only ever shift half a row.
+ *
+ * Moving to the other layout copies every element, so it only happens once
+ * the savings it would have brought, summed over consecutive windows where
+ * it was cheaper, pay for that copy. A single odd window never triggers it,
+ * and neither does a workload that keeps flipping.
+ */
+public class AdaptiveToyList<T> implements ToyList<T> {
+
+    public enum Layout { ARRAY, ROWS }
+
+    static final int WINDOW = 4096;
+
+    private static final int ROW_SIZE = 1024;
+
+    // Moving an element with System.arraycopy is around an order of
+    // magnitude cheaper than reading one at a random index
+    private static final double SHIFT_COST = 0.1;
+
+    private ToyList<T> list = new DynamicArray<>();
+
+    private Layout layout = Layout.ARRAY;
+
+    private StructuralListener listener = StructuralListener.NONE;
+
+    private int calls;
+
+    private long accesses, appends, edits, arrayShifts;
+
+    // Savings piled up by the other layout over the last few windows
+    private double credit;
+
+    public Layout layout() {
+        return layout;
+    }
+
+    @Override
+    public void add(T element) {
+        appends++;
+        list.add(element);
+        tally();
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        appends += coll.size();
+        list.addAll(coll);
+        tally();
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        edited(index);
+        list.addAll(index, coll);
+        tally();
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        edited(index);
+        list.addAt(index, value);
+        tally();
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public T get(int index) {
+        accesses++;
+        T value = list.get(index);
+        tally();
+        return value;
+    }
+
+    @Override
+    public int indexOf(T value) {
+        return list.indexOf(value);
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        return list.lastIndexOf(value);
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return list.contains(value);
+    }
+
+    @Override
+    public int[] findAll(Predicate<? super T> predicate) {
+        return list.findAll(predicate);
+    }
+
+    @Override
+    public T removeAt(int index) {
+        edited(index + 1);
+        T removed = list.removeAt(index);
+        tally();
+        return removed;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        edited(toIndex);
+        list.removeRange(fromIndex, toIndex);
+        tally();
+    }
+
+    @Override
+    public T set(int index, T value) {
+        accesses++;
+        T old = list.set(index, value);
+        tally();
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public List<T> asList() {
+        return list.asList();
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        return list.toArray(target);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+        list.setStructuralListener(listener);
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+
+    /**
+     * Edits count as appends when nothing would have to be shifted.
+     */
+    private void edited(int from) {
+        int shifts = Math.max(list.size() - from, 0);
+        if (shifts == 0) {
+            appends++;
+        } else {
+            edits++;
+            arrayShifts += shifts;
+        }
+    }
+
+    private void tally() {
+        if (++calls < WINDOW) {
+            return;
+        }
+        double arrayCost = accesses + appends + edits
+                + arrayShifts * SHIFT_COST;
+        double rowLookup = 32 - Integer.numberOfLeadingZeros(
+                list.size() / ROW_SIZE);
+        double rowsCost = (accesses + appends + edits) * (1 + rowLookup)
+                + appends
+                + edits * Math.min(ROW_SIZE / 2, list.size() / 2) * SHIFT_COST;
+        double savings = layout == Layout.ARRAY
+                ? arrayCost - rowsCost
+                : rowsCost - arrayCost;
+        credit = savings > 0 ? credit + savings : 0;
+        if (credit >= list.size()) {
+            migrate();
+        }
+        calls = 0;
+        accesses = appends = edits = arrayShifts = 0;
+    }
+
+    private void migrate() {
+        ToyList<T> target;
+        if (layout == Layout.ARRAY) {
+            target = new ElasticHybridList<>(ROW_SIZE);
+            layout = Layout.ROWS;
+        } else {
+            target = new DynamicArray<>(Math.max(list.size(), 32));
+            layout = Layout.ARRAY;
+        }
+        list.spliterator().forEachRemaining(target::add);
+        target.setStructuralListener(listener);
+        list = target;
+        credit = 0;
+    }
+
+}
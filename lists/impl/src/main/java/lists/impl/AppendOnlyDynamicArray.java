@@ -0,0 +1,203 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A DynamicArray for many threads appending at once, without locks. Each
+ * append reserves its slot with an atomic counter, writes it and then
+ * publishes it; readers only ever see published slots, through size() and get.
+ *
+ * Growing can't copy the array, since other threads may be writing to it, so
+ * instead of one array there are chunks: the first one holds firstChunkCapacity
+ * elements and each following one doubles the previous, just like
+ * DynamicArray's GROWTH_FACTOR. Chunks are created with a CAS and never move,
+ * so published elements are never copied. Chunks can't hold more than 2^30
+ * elements each, so the list is full at 2^31 - firstChunkCapacity elements.
+ *
+ * Slots are published in the order they were reserved, which keeps size()
+ * honest: after writing its slot, a producer advances the published count over
+ * every contiguous written slot, its own and others'. Nobody ever waits on
+ * anybody, but a producer stalled between reserving and writing keeps every
+ * slot after its own hidden until it's done.
+ *
+ * Anything other than appending - addAt, removeAt, set, clear and the like -
+ * throws an UnsupportedOperationException.
+ */
+public class AppendOnlyDynamicArray<T> implements ToyList<T> {
+
+    // Slots can hold nulls, so they're stored as this to tell them apart from
+    // slots that weren't written yet.
+    private static final Object NULL = new Object();
+
+    private final int firstChunkBits;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> chunks;
+
+    final AtomicInteger reserved = new AtomicInteger();
+
+    private final AtomicInteger published = new AtomicInteger();
+
+    public AppendOnlyDynamicArray() {
+        this(32);
+    }
+
+    /**
+     * firstChunkCapacity is rounded up to a power of two.
+     */
+    public AppendOnlyDynamicArray(int firstChunkCapacity) {
+        if (firstChunkCapacity < 1 || firstChunkCapacity > 1 << 30) {
+            throw new IllegalArgumentException(String.format(
+                    "!(1 <= %d <= 2^30)", firstChunkCapacity));
+        }
+        firstChunkBits = 32 - Integer.numberOfLeadingZeros(firstChunkCapacity - 1);
+        // Positions stay below 2^31, so the last chunk holds 2^30 of them
+        chunks = new AtomicReferenceArray<>(31 - firstChunkBits);
+    }
+
+    @Override
+    public void add(T element) {
+        store(reserved.getAndIncrement(), element);
+        publish();
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        Object[] values = coll.toArray();
+        int first = reserved.getAndAdd(values.length);
+        for (int i = 0; i < values.length; i++) {
+            store(first + i, values[i]);
+        }
+        publish();
+    }
+
+    @Override
+    public T get(int index) {
+        int size = published.get();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+        return (T) unwrap(slot(index));
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int size = published.get();
+        for (int chunk = 0, index = 0; index < size; chunk++) {
+            AtomicReferenceArray<Object> values = chunks.get(chunk);
+            for (int i = 0; i < values.length() && index < size; i++, index++) {
+                if (Objects.equals(unwrap(values.get(i)), value)) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    @Override
+    public List<T> asList() {
+        int size = published.get();
+        List<T> values = new ArrayList<>(size);
+        for (int chunk = 0; values.size() < size; chunk++) {
+            AtomicReferenceArray<Object> elements = chunks.get(chunk);
+            for (int i = 0; i < elements.length() && values.size() < size; i++) {
+                values.add((T) unwrap(elements.get(i)));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        throw new UnsupportedOperationException("Append only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Append only");
+    }
+
+    @Override
+    public T removeAt(int index) {
+        throw new UnsupportedOperationException("Append only");
+    }
+
+    @Override
+    public T set(int index, T value) {
+        throw new UnsupportedOperationException("Append only");
+    }
+
+    private void store(int index, Object value) {
+        long position = positionOf(index);
+        if (index < 0 || position >= 1L << 31) {
+            throw new IllegalStateException("List is full");
+        }
+        int chunk = chunkOf(position);
+        AtomicReferenceArray<Object> values = chunks.get(chunk);
+        if (values == null) {
+            AtomicReferenceArray<Object> created
+                    = new AtomicReferenceArray<>(1 << (chunk + firstChunkBits));
+            values = chunks.compareAndSet(chunk, null, created)
+                    ? created
+                    : chunks.get(chunk);
+        }
+        values.set(offsetOf(position, chunk), value == null ? NULL : value);
+    }
+
+    /**
+     * Returns what's stored at index, or null if it wasn't written yet.
+     */
+    private Object slot(int index) {
+        long position = positionOf(index);
+        int chunk = chunkOf(position);
+        AtomicReferenceArray<Object> values = chunks.get(chunk);
+        return values == null ? null : values.get(offsetOf(position, chunk));
+    }
+
+    private Object unwrap(Object stored) {
+        return stored == NULL ? null : stored;
+    }
+
+    /**
+     * Moves the published count past every contiguous written slot. Slots are
+     * written before calling this, so whichever producer writes the slot the
+     * count is stuck at is guaranteed to see every slot written after it.
+     */
+    private void publish() {
+        for (int count = published.get();
+                count < reserved.get() && slot(count) != null;
+                count = published.get()) {
+            published.compareAndSet(count, count + 1);
+        }
+    }
+
+    // Shifting every index by the first chunk's capacity makes chunk k hold
+    // exactly the positions whose highest bit is k + firstChunkBits.
+    long positionOf(int index) {
+        return (long) index + (1 << firstChunkBits);
+    }
+
+    int chunkOf(long position) {
+        return 63 - Long.numberOfLeadingZeros(position) - firstChunkBits;
+    }
+
+    int offsetOf(long position, int chunk) {
+        return (int) (position - (1L << (chunk + firstChunkBits)));
+    }
+
+}
@@ -0,0 +1,478 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A list kept in a counted B+-tree: elements live in leaves holding up to
+ * nodeSize of them, and every internal node holds up to nodeSize children
+ * along with how many elements sit under each one. Finding an index means
+ * walking down from the root, skipping whole subtrees by their counts, so
+ * get, set, addAt and removeAt are all O(log n) no matter where the index is
+ * or how big the list gets - unlike HybridList, whose rows make get O(rows)
+ * and leave addAt and removeAt shifting everything after the index.
+ *
+ * Inserting into a full leaf splits it in halves, and a full parent splits
+ * the same way. Removals that leave a node less than half full either merge
+ * it with a sibling, when both fit in one node, or even out their sizes. So
+ * every node but the root stays between half and completely full, and every
+ * leaf is at the same depth.
+ *
+ * Leaves are also chained left to right, so scans like indexOf and toArray
+ * never go through the inner nodes.
+ */
+public class BTreeList<T> implements ToyList<T> {
+
+    private static final int DEFAULT_NODE_SIZE = 64;
+
+    private final int nodeSize;
+
+    Node root;
+
+    protected StructuralListener listener = StructuralListener.NONE;
+
+    public BTreeList() {
+        this(DEFAULT_NODE_SIZE);
+    }
+
+    public BTreeList(int nodeSize) {
+        if (nodeSize < 4) {
+            throw new IllegalArgumentException(
+                    String.format("!(4 <= %d)", nodeSize));
+        }
+        this.nodeSize = nodeSize;
+        root = new Leaf(nodeSize);
+    }
+
+    @Override
+    public void add(T element) {
+        addAt(root.size, element);
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        for (T element : coll) {
+            add(element);
+        }
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        if (index < 0 || index > root.size) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "0 <= i <= %d failed for i = %d", root.size, index));
+        }
+        Node split = insert(root, index, value);
+        if (split != null) {
+            Branch newRoot = new Branch(nodeSize);
+            insertChild(newRoot, 0, root);
+            insertChild(newRoot, 1, split);
+            newRoot.size = root.size + split.size;
+            root = newRoot;
+        }
+    }
+
+    @Override
+    public void clear() {
+        root = new Leaf(nodeSize);
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            int child = 0;
+            while (index >= branch.sizes[child]) {
+                index -= branch.sizes[child++];
+            }
+            node = branch.children[child];
+        }
+        return (T) ((Leaf) node).elements[index];
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int offset = 0;
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (Objects.equals(leaf.elements[i], value)) {
+                    return offset + i;
+                }
+            }
+            offset += leaf.size;
+        }
+        return -1;
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkIndex(index);
+        T removed = remove(root, index);
+        if (root instanceof Branch && ((Branch) root).count == 1) {
+            root = ((Branch) root).children[0];
+        }
+        return removed;
+    }
+
+    @Override
+    public T set(int index, T value) {
+        checkIndex(index);
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            int child = 0;
+            while (index >= branch.sizes[child]) {
+                index -= branch.sizes[child++];
+            }
+            node = branch.children[child];
+        }
+        Object[] elements = ((Leaf) node).elements;
+        T old = (T) elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        int size = root.size;
+        T[] copy = target.length >= size
+                ? target
+                : Arrays.copyOf(target, size);
+        int offset = 0;
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            System.arraycopy(leaf.elements, 0, copy, offset, leaf.size);
+            offset += leaf.size;
+        }
+        if (copy.length > size) {
+            copy[size] = null;
+        }
+        return copy;
+    }
+
+    @Override
+    public List<T> asList() {
+        return Arrays.asList(toArray((T[]) new Object[root.size]));
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    /**
+     * How many levels there are, counting the leaves.
+     */
+    int height() {
+        int height = 1;
+        for (Node node = root; node instanceof Branch;
+                node = ((Branch) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    abstract static class Node {
+
+        // Elements under this node
+        int size;
+
+        /**
+         * Elements for a leaf, children for a branch.
+         */
+        abstract int slots();
+
+    }
+
+    static final class Leaf extends Node {
+
+        final Object[] elements;
+
+        Leaf next;
+
+        Leaf(int nodeSize) {
+            elements = new Object[nodeSize];
+        }
+
+        @Override
+        int slots() {
+            return size;
+        }
+
+    }
+
+    static final class Branch extends Node {
+
+        final Node[] children;
+
+        // How many elements are under each child
+        final int[] sizes;
+
+        int count;
+
+        Branch(int nodeSize) {
+            children = new Node[nodeSize];
+            sizes = new int[nodeSize];
+        }
+
+        @Override
+        int slots() {
+            return count;
+        }
+
+    }
+
+    /**
+     * Inserts value at index under node, returning node's new right sibling
+     * if node had to split, or null otherwise.
+     */
+    private Node insert(Node node, int index, T value) {
+        if (node instanceof Leaf) {
+            return insert((Leaf) node, index, value);
+        }
+        Branch branch = (Branch) node;
+        int child = 0;
+        while (child < branch.count - 1 && index >= branch.sizes[child]) {
+            index -= branch.sizes[child++];
+        }
+        Node split = insert(branch.children[child], index, value);
+        branch.size++;
+        if (split == null) {
+            branch.sizes[child]++;
+            return null;
+        }
+        branch.sizes[child] = branch.children[child].size;
+        if (branch.count < nodeSize) {
+            insertChild(branch, child + 1, split);
+            return null;
+        }
+        Branch right = new Branch(nodeSize);
+        int half = branch.count / 2;
+        int moved = branch.count - half;
+        System.arraycopy(branch.children, half, right.children, 0, moved);
+        System.arraycopy(branch.sizes, half, right.sizes, 0, moved);
+        Arrays.fill(branch.children, half, branch.count, null);
+        branch.count = half;
+        right.count = moved;
+        for (int i = 0; i < moved; i++) {
+            right.size += right.sizes[i];
+        }
+        if (child + 1 <= half) {
+            insertChild(branch, child + 1, split);
+        } else {
+            insertChild(right, child + 1 - half, split);
+            right.size += split.size;
+        }
+        branch.size -= right.size;
+        return right;
+    }
+
+    private Leaf insert(Leaf leaf, int index, T value) {
+        if (leaf.size < nodeSize) {
+            insertElement(leaf, index, value);
+            return null;
+        }
+        Leaf right = new Leaf(nodeSize);
+        right.next = leaf.next;
+        leaf.next = right;
+        listener.rowSplit();
+        int half = nodeSize / 2;
+        System.arraycopy(leaf.elements, half, right.elements, 0, nodeSize - half);
+        Arrays.fill(leaf.elements, half, nodeSize, null);
+        right.size = nodeSize - half;
+        leaf.size = half;
+        listener.shifted(nodeSize - half);
+        if (index <= half) {
+            insertElement(leaf, index, value);
+        } else {
+            insertElement(right, index - half, value);
+        }
+        return right;
+    }
+
+    private void insertElement(Leaf leaf, int index, T value) {
+        System.arraycopy(leaf.elements, index, leaf.elements, index + 1,
+                leaf.size - index);
+        listener.shifted(leaf.size - index);
+        leaf.elements[index] = value;
+        leaf.size++;
+    }
+
+    /**
+     * Only moves children around; the caller keeps branch.size right.
+     */
+    private void insertChild(Branch branch, int position, Node child) {
+        System.arraycopy(branch.children, position, branch.children,
+                position + 1, branch.count - position);
+        System.arraycopy(branch.sizes, position, branch.sizes, position + 1,
+                branch.count - position);
+        branch.children[position] = child;
+        branch.sizes[position] = child.size;
+        branch.count++;
+    }
+
+    private void removeChild(Branch branch, int position) {
+        int after = branch.count - position - 1;
+        System.arraycopy(branch.children, position + 1, branch.children,
+                position, after);
+        System.arraycopy(branch.sizes, position + 1, branch.sizes, position,
+                after);
+        branch.children[--branch.count] = null;
+    }
+
+    private T remove(Node node, int index) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            T removed = (T) leaf.elements[index];
+            System.arraycopy(leaf.elements, index + 1, leaf.elements, index,
+                    leaf.size - index - 1);
+            leaf.elements[--leaf.size] = null;
+            listener.shifted(leaf.size - index);
+            return removed;
+        }
+        Branch branch = (Branch) node;
+        int child = 0;
+        while (index >= branch.sizes[child]) {
+            index -= branch.sizes[child++];
+        }
+        T removed = remove(branch.children[child], index);
+        branch.sizes[child]--;
+        branch.size--;
+        // Only the root can be down to a single child, and removeAt replaces
+        // it with that child right away
+        if (branch.children[child].slots() < nodeSize / 2 && branch.count > 1) {
+            rebalance(branch, child);
+        }
+        return removed;
+    }
+
+    /**
+     * Merges the underflowing child with a sibling if they fit in one node,
+     * or evens out their sizes otherwise.
+     */
+    private void rebalance(Branch branch, int child) {
+        int left = child == branch.count - 1 ? child - 1 : child;
+        Node leftNode = branch.children[left];
+        Node rightNode = branch.children[left + 1];
+        if (leftNode.slots() + rightNode.slots() <= nodeSize) {
+            if (leftNode instanceof Leaf) {
+                mergeLeaves((Leaf) leftNode, (Leaf) rightNode);
+                listener.rowsMerged();
+            } else {
+                mergeBranches((Branch) leftNode, (Branch) rightNode);
+            }
+            removeChild(branch, left + 1);
+            branch.sizes[left] = leftNode.size;
+            return;
+        }
+        if (leftNode instanceof Leaf) {
+            balanceLeaves((Leaf) leftNode, (Leaf) rightNode);
+        } else {
+            balanceBranches((Branch) leftNode, (Branch) rightNode);
+        }
+        branch.sizes[left] = leftNode.size;
+        branch.sizes[left + 1] = rightNode.size;
+    }
+
+    private void mergeLeaves(Leaf left, Leaf right) {
+        System.arraycopy(right.elements, 0, left.elements, left.size,
+                right.size);
+        listener.shifted(right.size);
+        left.size += right.size;
+        left.next = right.next;
+    }
+
+    private void mergeBranches(Branch left, Branch right) {
+        System.arraycopy(right.children, 0, left.children, left.count,
+                right.count);
+        System.arraycopy(right.sizes, 0, left.sizes, left.count, right.count);
+        left.count += right.count;
+        left.size += right.size;
+    }
+
+    private void balanceLeaves(Leaf left, Leaf right) {
+        int total = left.size + right.size;
+        int target = total / 2;
+        if (left.size < target) {
+            int moved = target - left.size;
+            System.arraycopy(right.elements, 0, left.elements, left.size, moved);
+            System.arraycopy(right.elements, moved, right.elements, 0,
+                    right.size - moved);
+            Arrays.fill(right.elements, right.size - moved, right.size, null);
+            listener.shifted(right.size);
+        } else {
+            int moved = left.size - target;
+            System.arraycopy(right.elements, 0, right.elements, moved,
+                    right.size);
+            System.arraycopy(left.elements, target, right.elements, 0, moved);
+            Arrays.fill(left.elements, target, left.size, null);
+            listener.shifted(right.size + moved);
+        }
+        left.size = target;
+        right.size = total - target;
+    }
+
+    private void balanceBranches(Branch left, Branch right) {
+        int total = left.count + right.count;
+        int target = total / 2;
+        int movedElements = 0;
+        if (left.count < target) {
+            int moved = target - left.count;
+            System.arraycopy(right.children, 0, left.children, left.count,
+                    moved);
+            System.arraycopy(right.sizes, 0, left.sizes, left.count, moved);
+            for (int i = 0; i < moved; i++) {
+                movedElements += right.sizes[i];
+            }
+            System.arraycopy(right.children, moved, right.children, 0,
+                    right.count - moved);
+            System.arraycopy(right.sizes, moved, right.sizes, 0,
+                    right.count - moved);
+            Arrays.fill(right.children, right.count - moved, right.count, null);
+        } else {
+            int moved = left.count - target;
+            System.arraycopy(right.children, 0, right.children, moved,
+                    right.count);
+            System.arraycopy(right.sizes, 0, right.sizes, moved, right.count);
+            System.arraycopy(left.children, target, right.children, 0, moved);
+            System.arraycopy(left.sizes, target, right.sizes, 0, moved);
+            for (int i = 0; i < moved; i++) {
+                movedElements -= right.sizes[i];
+            }
+            Arrays.fill(left.children, target, left.count, null);
+        }
+        left.count = target;
+        right.count = total - target;
+        left.size += movedElements;
+        right.size -= movedElements;
+    }
+
+    private Leaf firstLeaf() {
+        Node node = root;
+        while (node instanceof Branch) {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= root.size) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "0 <= i < %d failed for i = %d", root.size, index));
+        }
+    }
+
+}
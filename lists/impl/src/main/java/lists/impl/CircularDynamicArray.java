@@ -0,0 +1,264 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DynamicArray that wraps around its backing array, so the first element can
+ * sit anywhere in it. Inserting or removing at the front then just moves head
+ * back or forth instead of shifting everything, making both ends O(1) - handy
+ * for queue-like usage, where a DynamicArray shifts the whole list on every
+ * removeAt(0) and a HybridList cascades across all its rows.
+ *
+ * Edits in the middle shift whichever side of the index is shorter, so they
+ * never move more than half of the list. Growth follows a GrowthPolicy, like
+ * DynamicArray's; a resize unwraps the elements so head goes back to 0.
+ */
+public class CircularDynamicArray<T> implements ToyList<T> {
+
+    protected final GrowthPolicy growthPolicy;
+
+    protected Object[] array;
+
+    // Where index 0 is in array
+    protected int head;
+
+    protected int size;
+
+    protected StructuralListener listener = StructuralListener.NONE;
+
+    public CircularDynamicArray() {
+        this(32);
+    }
+
+    public CircularDynamicArray(int capacity) {
+        this(capacity, GrowthPolicy.multiplying(DynamicArray.GROWTH_FACTOR));
+    }
+
+    public CircularDynamicArray(int capacity, GrowthPolicy growthPolicy) {
+        array = new Object[capacity];
+        this.growthPolicy = growthPolicy;
+    }
+
+    @Override
+    public void add(T element) {
+        ensureCapacity(size + 1);
+        array[physical(size++)] = element;
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        ensureCapacity(size + coll.size());
+        for (T element : coll) {
+            array[physical(size++)] = element;
+        }
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        checkPosition(index);
+        Object[] values = coll.toArray();
+        open(index, values.length);
+        for (int i = 0; i < values.length; i++) {
+            array[physical(index + i)] = values[i];
+        }
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        checkPosition(index);
+        open(index, 1);
+        array[physical(index)] = value;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(array, null);
+        head = size = 0;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        return (T) array[physical(index)];
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(array[physical(i)], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(array[physical(i)], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkIndex(index);
+        T removed = (T) array[physical(index)];
+        close(index, 1);
+        return removed;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "0 <= from <= to <= %d failed for from = %d, to = %d",
+                    size, fromIndex, toIndex));
+        }
+        close(fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public T set(int index, T value) {
+        checkIndex(index);
+        int position = physical(index);
+        T old = (T) array[position];
+        array[position] = value;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Makes sure at least minCapacity elements fit without resizing, growing
+     * the backing array as the growth policy sees fit.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            int oldCapacity = array.length;
+            Object[] grown = new Object[
+                    growthPolicy.grow(oldCapacity, minCapacity)];
+            unwrapInto(grown);
+            array = grown;
+            head = 0;
+            listener.resized(oldCapacity, grown.length);
+        }
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        T[] copy = target.length >= size
+                ? target
+                : Arrays.copyOf(target, size);
+        unwrapInto(copy);
+        if (copy.length > size) {
+            copy[size] = null;
+        }
+        return copy;
+    }
+
+    @Override
+    public List<T> asList() {
+        return Arrays.asList(toArray((T[]) new Object[size]));
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    /**
+     * Valid for indexes up to array.length - 1, including the free slots
+     * after the last element.
+     */
+    private int physical(int index) {
+        int position = head + index;
+        return position >= array.length ? position - array.length : position;
+    }
+
+    /**
+     * Makes room for count elements starting at index, moving either
+     * everything before it one step towards the front or everything after it
+     * towards the back, whichever is less.
+     */
+    private void open(int index, int count) {
+        ensureCapacity(size + count);
+        if (index < size - index) {
+            head -= count;
+            if (head < 0) {
+                head += array.length;
+            }
+            for (int i = 0; i < index; i++) {
+                array[physical(i)] = array[physical(i + count)];
+            }
+            listener.shifted(index);
+        } else {
+            for (int i = size - 1; i >= index; i--) {
+                array[physical(i + count)] = array[physical(i)];
+            }
+            listener.shifted(size - index);
+        }
+        size += count;
+    }
+
+    /**
+     * Removes count elements starting at index, closing the hole from
+     * whichever side has less to move.
+     */
+    private void close(int index, int count) {
+        int after = size - index - count;
+        if (index < after) {
+            for (int i = index - 1; i >= 0; i--) {
+                array[physical(i + count)] = array[physical(i)];
+            }
+            for (int i = 0; i < count; i++) {
+                array[physical(i)] = null;
+            }
+            head = physical(count);
+            listener.shifted(index);
+        } else {
+            for (int i = index + count; i < size; i++) {
+                array[physical(i - count)] = array[physical(i)];
+            }
+            for (int i = size - count; i < size; i++) {
+                array[physical(i)] = null;
+            }
+            listener.shifted(after);
+        }
+        size -= count;
+    }
+
+    private void unwrapInto(Object[] target) {
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, target, 0, firstPart);
+        System.arraycopy(array, 0, target, firstPart, size - firstPart);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+    }
+
+    private void checkPosition(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size, index));
+        }
+    }
+
+}
@@ -0,0 +1,388 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A thread-safe HybridList. Instead of a single monitor around the whole list,
+ * every row has its own StampedLock and the layout of the table - which element
+ * sits at which index - is guarded by another one:
+ *
+ * - get reads optimistically, validating both its row and the layout, so
+ * readers never write to shared memory unless they lose a race;
+ * - set only locks the row it writes to, so sets and gets on different rows
+ * never contend;
+ * - add and addAll reserve their slots with an atomic counter and publish them
+ * in reservation order, so size() never covers a slot that's still being
+ * written. They share the layout lock in read mode, which keeps them from
+ * racing with anything that shifts elements around;
+ * - addAt, removeAt and every other operation that shifts elements take the
+ * layout lock exclusively. They are as expensive as HybridList's, plus having
+ * to wait for everyone else.
+ *
+ * Like HybridList, every row but the last one is always full.
+ */
+public class ConcurrentHybridList<T> implements ToyList<T> {
+
+    private static final int DEFAULT_ROW_SIZE = 100000;
+
+    private static final class Row {
+        final Object[] values;
+
+        final StampedLock lock = new StampedLock();
+
+        Row(int size) {
+            values = new Object[size];
+        }
+    }
+
+    private final int rowSize;
+
+    private final StampedLock layout = new StampedLock();
+
+    private final Object directoryGrowth = new Object();
+
+    // Rows are only ever created by appends or while holding the layout lock
+    // exclusively, and the array itself is never shrunk.
+    private volatile Row[] table;
+
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private final AtomicInteger published = new AtomicInteger();
+
+    public ConcurrentHybridList() {
+        this(DEFAULT_ROW_SIZE);
+    }
+
+    public ConcurrentHybridList(int rowSize) {
+        this.rowSize = rowSize;
+        table = new Row[8];
+    }
+
+    @Override
+    public void add(T element) {
+        long stamp = layout.readLock();
+        try {
+            int index = reserved.getAndIncrement();
+            rowAt(index).values[index % rowSize] = element;
+            publish(index, 1);
+        } finally {
+            layout.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        Object[] values = coll.toArray();
+        long stamp = layout.readLock();
+        try {
+            int first = reserved.getAndAdd(values.length);
+            for (int i = 0; i < values.length; i++) {
+                rowAt(first + i).values[(first + i) % rowSize] = values[i];
+            }
+            publish(first, values.length);
+        } finally {
+            layout.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        addAll(index, Arrays.asList(value));
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        Object[] values = coll.toArray();
+        long stamp = lockLayoutExclusively();
+        try {
+            int size = published.get();
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(
+                        String.format("!(0 < %d <= %d)", index, size));
+            }
+            for (int i = size - 1; i >= index; i--) {
+                put(i + values.length, element(i));
+            }
+            for (int i = 0; i < values.length; i++) {
+                put(index + i, values[i]);
+            }
+            resize(size + values.length);
+        } finally {
+            layout.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lockLayoutExclusively();
+        try {
+            resize(0);
+        } finally {
+            layout.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        long stamp = layout.tryOptimisticRead();
+        if (stamp != 0) {
+            int size = published.get();
+            if (index < 0 || index >= size) {
+                if (layout.validate(stamp)) {
+                    throw outOfBounds(index, size);
+                }
+            } else {
+                Row row = table[index / rowSize];
+                if (row != null) {
+                    long rowStamp = row.lock.tryOptimisticRead();
+                    Object value = row.values[index % rowSize];
+                    if (rowStamp != 0 && row.lock.validate(rowStamp)
+                            && layout.validate(stamp)) {
+                        return (T) value;
+                    }
+                }
+            }
+        }
+
+        stamp = layout.readLock();
+        try {
+            checkIndex(index);
+            Row row = table[index / rowSize];
+            long rowStamp = row.lock.readLock();
+            try {
+                return (T) row.values[index % rowSize];
+            } finally {
+                row.lock.unlockRead(rowStamp);
+            }
+        } finally {
+            layout.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int indexOf(T value) {
+        long stamp = layout.readLock();
+        try {
+            int size = published.get();
+            for (int r = 0; r * rowSize < size; r++) {
+                Row row = table[r];
+                long rowStamp = row.lock.readLock();
+                try {
+                    int used = Math.min(rowSize, size - r * rowSize);
+                    for (int c = 0; c < used; c++) {
+                        if (Objects.equals(row.values[c], value)) {
+                            return r * rowSize + c;
+                        }
+                    }
+                } finally {
+                    row.lock.unlockRead(rowStamp);
+                }
+            }
+            return -1;
+        } finally {
+            layout.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public T removeAt(int index) {
+        long stamp = lockLayoutExclusively();
+        try {
+            checkIndex(index);
+            T removed = (T) element(index);
+            removeElements(index, index + 1);
+            return removed;
+        } finally {
+            layout.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        long stamp = lockLayoutExclusively();
+        try {
+            int size = published.get();
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "!(0 <= %d <= %d <= %d)", fromIndex, toIndex, size));
+            }
+            removeElements(fromIndex, toIndex);
+        } finally {
+            layout.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T set(int index, T value) {
+        long stamp = layout.tryOptimisticRead();
+        if (stamp != 0) {
+            int size = published.get();
+            Row row = index >= 0 && index < size ? table[index / rowSize] : null;
+            if (row != null) {
+                long rowStamp = row.lock.writeLock();
+                try {
+                    // Anyone shifting elements around must first go through
+                    // this row's lock, so if the layout is still the same
+                    // while we hold it, it'll stay the same until we're done.
+                    if (layout.validate(stamp)) {
+                        T old = (T) row.values[index % rowSize];
+                        row.values[index % rowSize] = value;
+                        return old;
+                    }
+                } finally {
+                    row.lock.unlockWrite(rowStamp);
+                }
+            }
+        }
+
+        stamp = layout.readLock();
+        try {
+            checkIndex(index);
+            Row row = table[index / rowSize];
+            long rowStamp = row.lock.writeLock();
+            try {
+                T old = (T) row.values[index % rowSize];
+                row.values[index % rowSize] = value;
+                return old;
+            } finally {
+                row.lock.unlockWrite(rowStamp);
+            }
+        } finally {
+            layout.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    @Override
+    public List<T> asList() {
+        long stamp = layout.readLock();
+        try {
+            int size = published.get();
+            List<T> values = new ArrayList<>(size);
+            for (int r = 0; r * rowSize < size; r++) {
+                Row row = table[r];
+                long rowStamp = row.lock.readLock();
+                try {
+                    int used = Math.min(rowSize, size - r * rowSize);
+                    for (int c = 0; c < used; c++) {
+                        values.add((T) row.values[c]);
+                    }
+                } finally {
+                    row.lock.unlockRead(rowStamp);
+                }
+            }
+            return values;
+        } finally {
+            layout.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+
+    /**
+     * Waits until every slot before first is published, then publishes count
+     * more. Appenders hold the layout lock, so whoever we're waiting on is
+     * already past its reservation and can't be blocked by us.
+     */
+    private void publish(int first, int count) {
+        while (!published.compareAndSet(first, first + count)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Returns the row holding index, creating every missing row up to it.
+     */
+    private Row rowAt(int index) {
+        int r = index / rowSize;
+        Row[] rows = table;
+        if (r < rows.length && rows[r] != null) {
+            return rows[r];
+        }
+        synchronized (directoryGrowth) {
+            rows = table;
+            if (r >= rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(r + 1, rows.length * 2));
+            }
+            for (int i = 0; i <= r; i++) {
+                if (rows[i] == null) {
+                    rows[i] = new Row(rowSize);
+                }
+            }
+            table = rows;
+            return rows[r];
+        }
+    }
+
+    /**
+     * Takes the layout lock exclusively, then waits for every set that
+     * validated the previous layout to finish. From then on, until the lock is
+     * released, the table can be changed without any row locks.
+     */
+    private long lockLayoutExclusively() {
+        long stamp = layout.writeLock();
+        for (Row row : table) {
+            if (row != null) {
+                row.lock.unlockWrite(row.lock.writeLock());
+            }
+        }
+        return stamp;
+    }
+
+    private Object element(int index) {
+        return table[index / rowSize].values[index % rowSize];
+    }
+
+    private void put(int index, Object value) {
+        rowAt(index).values[index % rowSize] = value;
+    }
+
+    private void removeElements(int fromIndex, int toIndex) {
+        int size = published.get(), removed = toIndex - fromIndex;
+        for (int i = toIndex; i < size; i++) {
+            put(i - removed, element(i));
+        }
+        for (int i = size - removed; i < size; i++) {
+            put(i, null);
+        }
+        resize(size - removed);
+    }
+
+    /**
+     * Must hold the layout lock exclusively. Drops rows left empty.
+     */
+    private void resize(int size) {
+        Row[] rows = table;
+        for (int r = (size + rowSize - 1) / rowSize; r < rows.length; r++) {
+            rows[r] = null;
+        }
+        reserved.set(size);
+        published.set(size);
+    }
+
+    private void checkIndex(int index) {
+        int size = published.get();
+        if (index < 0 || index >= size) {
+            throw outOfBounds(index, size);
+        }
+    }
+
+    private IndexOutOfBoundsException outOfBounds(int index, int size) {
+        return new IndexOutOfBoundsException(
+                String.format("!(0 < %d < %d)", index, size));
+    }
+
+}
@@ -0,0 +1,157 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import static lists.impl.DynamicArray.GROWTH_FACTOR;
+
+/**
+ * A DynamicArray backed by a double[], so values are never boxed as long as the
+ * primitive overloads (add(double), getDouble, set(int, double),
+ * indexOf(double) and so on) are used. The ToyList methods are still there for
+ * code written against the interface, they just box and unbox on the way in and
+ * out.
+ *
+ * Nulls can't be stored: adding one throws a NullPointerException and looking
+ * one up always returns -1. Values are compared the way Double.equals does it,
+ * so NaN is found by indexOf and 0.0 is not the same as -0.0.
+ */
+public class DoubleDynamicArray implements ToyList<Double> {
+
+    protected double[] array;
+
+    protected int size;
+
+    public DoubleDynamicArray() {
+        this(32);
+    }
+
+    public DoubleDynamicArray(int capacity) {
+        array = new double[capacity];
+    }
+
+    public void add(double element) {
+        ensureCapacity();
+        array[size++] = element;
+    }
+
+    @Override
+    public void add(Double element) {
+        add((double) element);
+    }
+
+    @Override
+    public void addAll(Collection<Double> coll) {
+        for (Double element : coll) {
+            add((double) element);
+        }
+    }
+
+    public int indexOf(double value) {
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(array[i])
+                    == Double.doubleToLongBits(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Double value) {
+        return value == null ? -1 : indexOf((double) value);
+    }
+
+    public void addAt(int index, double value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size, index));
+        }
+        ensureCapacity();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    @Override
+    public void addAt(int index, Double value) {
+        addAt(index, (double) value);
+    }
+
+    public double set(int index, double value) {
+        checkIndex(index);
+        double old = array[index];
+        array[index] = value;
+        return old;
+    }
+
+    @Override
+    public Double set(int index, Double value) {
+        return set(index, (double) value);
+    }
+
+    public double getDouble(int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    public double removeDoubleAt(int index) {
+        checkIndex(index);
+        double removed = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public Double removeAt(int index) {
+        return removeDoubleAt(index);
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity() {
+        if (array.length == size) {
+            array = Arrays.copyOf(array,
+                    Math.max((int) (array.length * GROWTH_FACTOR), 1));
+        }
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public List<Double> asList() {
+        return Arrays.stream(array, 0, size)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+}
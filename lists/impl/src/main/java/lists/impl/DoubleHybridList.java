@@ -0,0 +1,212 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A HybridList whose rows are double[], so values are never boxed as long as
+ * the primitive overloads (add(double), getDouble, set(int, double),
+ * indexOf(double) and so on) are used. The ToyList methods are still there for
+ * code written against the interface, they just box and unbox on the way in and
+ * out.
+ *
+ * Like HybridList, every row but the last one is always full. Nulls can't be
+ * stored: adding one throws a NullPointerException and looking one up always
+ * returns -1. Values are compared the way Double.equals does it, so NaN is
+ * found by indexOf and 0.0 is not the same as -0.0.
+ */
+public class DoubleHybridList implements ToyList<Double> {
+
+    private static final int DEFAULT_ROW_SIZE = 100000;
+
+    double[][] table;
+
+    int rows;
+
+    private final int rowSize;
+
+    private int size;
+
+    public DoubleHybridList() {
+        this(DEFAULT_ROW_SIZE);
+    }
+
+    public DoubleHybridList(int rowSize) {
+        table = new double[8][];
+        this.rowSize = rowSize;
+        rows = 0;
+        size = 0;
+    }
+
+    public void add(double element) {
+        if (size == rows * rowSize) {
+            appendRow();
+        }
+        table[rows - 1][size - (rows - 1) * rowSize] = element;
+        size++;
+    }
+
+    @Override
+    public void add(Double element) {
+        add((double) element);
+    }
+
+    @Override
+    public void addAll(Collection<Double> coll) {
+        for (Double value : coll) {
+            add((double) value);
+        }
+    }
+
+    public void addAt(int index, double value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        if (size == rows * rowSize) {
+            appendRow();
+        }
+
+        double shifted = value;
+        int shiftTo = index % rowSize;
+        int lastRow = size / rowSize;
+        for (int r = index / rowSize; r < lastRow; r++) {
+            double[] row = table[r];
+            double carried = row[rowSize - 1];
+            System.arraycopy(row, shiftTo, row, shiftTo + 1, rowSize - shiftTo - 1);
+            row[shiftTo] = shifted;
+            shifted = carried;
+            shiftTo = 0;
+        }
+        double[] row = table[lastRow];
+        int used = size - lastRow * rowSize;
+        System.arraycopy(row, shiftTo, row, shiftTo + 1, used - shiftTo);
+        row[shiftTo] = shifted;
+        size++;
+    }
+
+    @Override
+    public void addAt(int index, Double value) {
+        addAt(index, (double) value);
+    }
+
+    @Override
+    public void clear() {
+        table = new double[8][];
+        rows = 0;
+        size = 0;
+    }
+
+    public double getDouble(int index) {
+        checkIndex(index);
+        return table[index / rowSize][index % rowSize];
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    public int indexOf(double value) {
+        for (int r = 0; r < rows; r++) {
+            double[] row = table[r];
+            int used = Math.min(rowSize, size - r * rowSize);
+            for (int c = 0; c < used; c++) {
+                if (Double.doubleToLongBits(row[c])
+                        == Double.doubleToLongBits(value)) {
+                    return r * rowSize + c;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Double value) {
+        return value == null ? -1 : indexOf((double) value);
+    }
+
+    public double removeDoubleAt(int index) {
+        checkIndex(index);
+        int r = index / rowSize, column = index % rowSize;
+        int lastRow = (size - 1) / rowSize;
+        double removed = table[r][column];
+        for (; r < lastRow; r++) {
+            double[] row = table[r];
+            System.arraycopy(row, column + 1, row, column, rowSize - column - 1);
+            row[rowSize - 1] = table[r + 1][0];
+            column = 0;
+        }
+        double[] row = table[lastRow];
+        int used = size - lastRow * rowSize;
+        System.arraycopy(row, column + 1, row, column, used - column - 1);
+        size--;
+        if (size == (rows - 1) * rowSize) {
+            table[--rows] = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public Double removeAt(int index) {
+        return removeDoubleAt(index);
+    }
+
+    public double set(int index, double value) {
+        checkIndex(index);
+        double[] row = table[index / rowSize];
+        double old = row[index % rowSize];
+        row[index % rowSize] = value;
+        return old;
+    }
+
+    @Override
+    public Double set(int index, Double value) {
+        return set(index, (double) value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public double[] toDoubleArray() {
+        double[] values = new double[size];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(table[r], 0, values, r * rowSize,
+                    Math.min(rowSize, size - r * rowSize));
+        }
+        return values;
+    }
+
+    @Override
+    public List<Double> asList() {
+        List<Double> values = new ArrayList<>(size);
+        for (double value : toDoubleArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private void appendRow() {
+        if (rows == table.length) {
+            table = Arrays.copyOf(table, rows * 2);
+        }
+        table[rows++] = new double[rowSize];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d < %d)", index, size));
+        }
+    }
+
+}
@@ -4,21 +4,35 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
 
 public class DynamicArray<T> implements ToyList<T> {    
     
     protected static final double GROWTH_FACTOR = 2; 
     
+    protected final GrowthPolicy growthPolicy;
+    
     protected Object[] array;
     
     protected int size;
     
+    protected ParallelSearch parallelSearch = ParallelSearch.DEFAULT;
+    
+    protected StructuralListener listener = StructuralListener.NONE;
+    
     public DynamicArray() {
         this(32);
     }
     
     public DynamicArray(int capacity) {
+        this(capacity, GrowthPolicy.multiplying(GROWTH_FACTOR));
+    }
+    
+    public DynamicArray(int capacity, GrowthPolicy growthPolicy) {
         array = new Object[capacity];
+        this.growthPolicy = growthPolicy;
     }
     
     @Override
@@ -39,6 +53,11 @@ public class DynamicArray<T> implements ToyList<T> {
     
     @Override
     public int indexOf(T value) {
+        if (parallelSearch.worthIt(size)) {
+            Object[] elements = array;
+            return parallelSearch.first(size, 1, 
+                    i -> Objects.equals(elements[i], value));
+        }
         for (int i = 0; i < size; i++) {
             if (Objects.equals(array[i], value)) {
                 return i;
@@ -47,6 +66,50 @@ public class DynamicArray<T> implements ToyList<T> {
         return -1;
     }
     
+    @Override
+    public int lastIndexOf(T value) {
+        if (parallelSearch.worthIt(size)) {
+            Object[] elements = array;
+            return parallelSearch.last(size, 1, 
+                    i -> Objects.equals(elements[i], value));
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(array[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    @Override
+    public int[] findAll(Predicate<? super T> predicate) {
+        Object[] elements = array;
+        if (parallelSearch.worthIt(size)) {
+            return parallelSearch.all(size, 1, 
+                    i -> predicate.test((T) elements[i]));
+        }
+        IntDynamicArray indexes = new IntDynamicArray();
+        for (int i = 0; i < size; i++) {
+            if (predicate.test((T) elements[i])) {
+                indexes.add(i);
+            }
+        }
+        return indexes.toIntArray();
+    }
+    
+    /**
+     * Searches above the given threshold are split across a ForkJoinPool.
+     * Uses ParallelSearch.DEFAULT unless told otherwise.
+     */
+    public void setParallelSearch(ParallelSearch parallelSearch) {
+        this.parallelSearch = parallelSearch;
+    }
+    
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+    }
+    
     @Override
     public void addAt(int index, T value) {
         if (index < 0 || index > size) {
@@ -54,12 +117,25 @@ public class DynamicArray<T> implements ToyList<T> {
                     String.format("0 <= i <= %d failed for i = %d", size, index));
         }
         ensureCapacity();
-        for (int i = size; i > index; i--) {
-            array[i] = array[i - 1];
-        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        listener.shifted(size - index);
         array[index] = value;
         size++;
     }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size, index));
+        }
+        Object[] values = coll.toArray();
+        ensureCapacity(size + values.length);
+        System.arraycopy(array, index, array, index + values.length, size - index);
+        listener.shifted(size - index);
+        System.arraycopy(values, 0, array, index, values.length);
+        size += values.length;
+    }
     
     @Override
     public T set(int index, T value) {
@@ -79,21 +155,30 @@ public class DynamicArray<T> implements ToyList<T> {
     public T removeAt(int index) {
         checkIndex(index);
         T removed = (T) array[index];
-        if (index != size - 1) {
-            for (int i = index; i < size - 1; i++) {
-                array[i] = array[i + 1];
-            }
-        }
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        listener.shifted(size - index - 1);
         size--;
         array[size] = null;
         return removed;
     }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "0 <= from <= to <= %d failed for from = %d, to = %d",
+                    size, fromIndex, toIndex));
+        }
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        listener.shifted(size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+    }
     
     @Override
     public void clear() {
-        for (int i = 0; i < size; i++) {
-            array[size] = null;
-        }
+        Arrays.fill(array, 0, size, null);
         size = 0;
     }
 
@@ -111,10 +196,54 @@ public class DynamicArray<T> implements ToyList<T> {
 
     private void ensureCapacity() {
         if (array.length == size) {
-            array = Arrays.copyOf(array, (int)(array.length * GROWTH_FACTOR));
+            ensureCapacity(size + 1);
+        }
+    }
+
+    /**
+     * Makes sure at least minCapacity elements fit without resizing, growing
+     * the backing array as the growth policy sees fit.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > array.length) {
+            int oldCapacity = array.length;
+            array = Arrays.copyOf(array, 
+                    growthPolicy.grow(array.length, minCapacity));
+            listener.resized(oldCapacity, array.length);
+        }
+    }
+
+    /**
+     * Shrinks the backing array down to the list's size.
+     */
+    public void trimToSize() {
+        if (array.length > size) {
+            int oldCapacity = array.length;
+            array = Arrays.copyOf(array, size);
+            listener.resized(oldCapacity, size);
         }
     }
 
+    @Override
+    public T[] toArray(T[] target) {
+        T[] copy = target.length >= size
+                ? target
+                : Arrays.copyOf(target, size);
+        System.arraycopy(array, 0, copy, 0, size);
+        if (copy.length > size) {
+            copy[size] = null;
+        }
+        return copy;
+    }
+
+    /**
+     * Spliterates straight over the backing array, up to the current size.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED);
+    }
+
     @Override
     public List<T> asList() {
         return Arrays.asList((T[]) Arrays.copyOfRange(array, 0, size));
@@ -122,7 +251,7 @@ public class DynamicArray<T> implements ToyList<T> {
 
     @Override
     public String toString() {
-        return asList().toString();
+        return view().toString();
     }
     
 }
@@ -0,0 +1,277 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A HybridList whose rows are allowed to have gaps. Instead of keeping every
+ * row exactly full, which forces addAt and removeAt to shift one element into
+ * or out of every following row, rows here range between a minimum and a
+ * maximum fill. An insert that overflows a row splits it in two; a removal that
+ * drains a row below the minimum merges it with (or borrows from) a neighbour.
+ * Either way an edit touches one or two rows.
+ *
+ * Since rows no longer have a fixed length, translating an index into a row
+ * can't be done with a division. Row sizes are kept in a Fenwick tree, so
+ * finding a row and updating a row's count are both O(log rows). Splits and
+ * merges rebuild the tree, which is O(rows) but only happens once every
+ * (maxRowSize - minRowSize) edits or so.
+ */
+public class ElasticHybridList<T> implements ToyList<T> {
+
+    private static final int DEFAULT_MAX_ROW_SIZE = 1024;
+
+    final ArrayList<ArrayList<T>> table;
+
+    private final int minRowSize;
+
+    private final int maxRowSize;
+
+    // Fenwick tree over row sizes, 1-based: rowCounts[i] holds the sum of a
+    // range of rows ending at row i - 1.
+    private int[] rowCounts;
+
+    private int size;
+
+    private StructuralListener listener = StructuralListener.NONE;
+
+    public ElasticHybridList() {
+        this(DEFAULT_MAX_ROW_SIZE);
+    }
+
+    public ElasticHybridList(Collection<T> collection) {
+        this();
+        addAll(collection);
+    }
+
+    public ElasticHybridList(int maxRowSize) {
+        this(maxRowSize / 4, maxRowSize);
+    }
+
+    public ElasticHybridList(int minRowSize, int maxRowSize) {
+        if (minRowSize < 1 || minRowSize > maxRowSize / 2) {
+            throw new IllegalArgumentException(String.format(
+                    "!(1 <= %d <= %d / 2)", minRowSize, maxRowSize));
+        }
+        table = new ArrayList<>();
+        this.minRowSize = minRowSize;
+        this.maxRowSize = maxRowSize;
+        rowCounts = new int[1];
+        size = 0;
+    }
+
+    @Override
+    public void add(T element) {
+        if (table.isEmpty() || lastRow().size() >= maxRowSize) {
+            table.add(new ArrayList<>(maxRowSize));
+            lastRow().add(element);
+            rebuildRowCounts();
+        } else {
+            lastRow().add(element);
+            updateRowCount(table.size() - 1, 1);
+        }
+        size++;
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        for (T value : coll) {
+            add(value);
+        }
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        if (index == size) {
+            add(value);
+            return;
+        }
+
+        int row = rowOf(index);
+        ArrayList<T> target = table.get(row);
+        int column = index - countBefore(row);
+        target.add(column, value);
+        listener.shifted(target.size() - column - 1);
+        size++;
+        if (target.size() > maxRowSize) {
+            split(row);
+        } else {
+            updateRowCount(row, 1);
+        }
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+        rowCounts = new int[1];
+        size = 0;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        int row = rowOf(index);
+        return table.get(row).get(index - countBefore(row));
+    }
+
+    @Override
+    public int indexOf(T value) {
+        int index = 0;
+        for (ArrayList<T> row : table) {
+            for (T element : row) {
+                if (Objects.equals(element, value)) {
+                    return index;
+                }
+                index++;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkIndex(index);
+        int row = rowOf(index);
+        ArrayList<T> target = table.get(row);
+        int column = index - countBefore(row);
+        T removed = target.remove(column);
+        listener.shifted(target.size() - column);
+        size--;
+        if (target.isEmpty()) {
+            table.remove(row);
+            rebuildRowCounts();
+        } else if (target.size() < minRowSize && table.size() > 1) {
+            merge(row);
+        } else {
+            updateRowCount(row, -1);
+        }
+        return removed;
+    }
+
+    @Override
+    public T set(int index, T value) {
+        checkIndex(index);
+        int row = rowOf(index);
+        return table.get(row).set(index - countBefore(row), value);
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> asList() {
+        return table.stream()
+                .flatMap(ArrayList::stream)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d < %d)", index, size));
+        }
+    }
+
+    private ArrayList<T> lastRow() {
+        return table.get(table.size() - 1);
+    }
+
+    private void split(int row) {
+        ArrayList<T> full = table.get(row);
+        List<T> upperHalf = full.subList(full.size() / 2, full.size());
+        ArrayList<T> sibling = new ArrayList<>(maxRowSize);
+        sibling.addAll(upperHalf);
+        upperHalf.clear();
+        table.add(row + 1, sibling);
+        rebuildRowCounts();
+        listener.rowSplit();
+        listener.shifted(sibling.size());
+    }
+
+    /**
+     * Fixes a row that went below minRowSize by either absorbing a neighbour
+     * into it or, if both wouldn't fit in a single row, evening them out.
+     */
+    private void merge(int row) {
+        int left = row == table.size() - 1 ? row - 1 : row;
+        ArrayList<T> leftRow = table.get(left), rightRow = table.get(left + 1);
+        int combined = leftRow.size() + rightRow.size();
+        if (combined <= maxRowSize) {
+            leftRow.addAll(rightRow);
+            table.remove(left + 1);
+            listener.rowsMerged();
+            listener.shifted(rightRow.size());
+        } else if (leftRow.size() < rightRow.size()) {
+            List<T> moved = rightRow.subList(0, rightRow.size() - combined / 2);
+            leftRow.addAll(moved);
+            listener.shifted(rightRow.size());
+            moved.clear();
+        } else {
+            List<T> moved = leftRow.subList(combined / 2, leftRow.size());
+            rightRow.addAll(0, moved);
+            listener.shifted(rightRow.size());
+            moved.clear();
+        }
+        rebuildRowCounts();
+    }
+
+    private void rebuildRowCounts() {
+        int rows = table.size();
+        rowCounts = new int[rows + 1];
+        for (int i = 1; i <= rows; i++) {
+            rowCounts[i] += table.get(i - 1).size();
+            int parent = i + (i & -i);
+            if (parent <= rows) {
+                rowCounts[parent] += rowCounts[i];
+            }
+        }
+    }
+
+    private void updateRowCount(int row, int delta) {
+        for (int i = row + 1; i < rowCounts.length; i += i & -i) {
+            rowCounts[i] += delta;
+        }
+    }
+
+    private int countBefore(int row) {
+        int count = 0;
+        for (int i = row; i > 0; i -= i & -i) {
+            count += rowCounts[i];
+        }
+        return count;
+    }
+
+    private int rowOf(int index) {
+        int row = 0, remaining = index;
+        for (int step = Integer.highestOneBit(rowCounts.length - 1); step > 0;
+                step >>= 1) {
+            int next = row + step;
+            if (next < rowCounts.length && rowCounts[next] <= remaining) {
+                row = next;
+                remaining -= rowCounts[next];
+            }
+        }
+        return row;
+    }
+
+}
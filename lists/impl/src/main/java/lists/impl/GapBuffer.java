@@ -0,0 +1,236 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An array with a hole in it, the way text editors store what's being typed.
+ * Elements sit on both sides of a gap of free slots, and the gap always
+ * follows the last edit: inserting right where the previous insert or removal
+ * happened just fills or widens the gap, without shifting anything, and so
+ * does removing the element right before it, like a backspace.
+ *
+ * Editing somewhere else first moves the gap there, shifting only the
+ * elements between the old and the new position - so edits near each other
+ * stay cheap, and only jumping around costs as much as a DynamicArray's
+ * addAt. Appending counts as editing at the end, so appends right after
+ * middle edits pay to move the gap too.
+ *
+ * get and set never move the gap. When it fills up, the array grows according
+ * to a GrowthPolicy, just like a DynamicArray's, and the new room goes into
+ * the gap.
+ */
+public class GapBuffer<T> implements ToyList<T> {
+
+    protected final GrowthPolicy growthPolicy;
+
+    protected Object[] buffer;
+
+    // Free slots go from gapStart, inclusive, to gapEnd, exclusive
+    protected int gapStart, gapEnd;
+
+    protected StructuralListener listener = StructuralListener.NONE;
+
+    public GapBuffer() {
+        this(32);
+    }
+
+    public GapBuffer(int capacity) {
+        this(capacity, GrowthPolicy.multiplying(DynamicArray.GROWTH_FACTOR));
+    }
+
+    public GapBuffer(int capacity, GrowthPolicy growthPolicy) {
+        buffer = new Object[capacity];
+        gapEnd = capacity;
+        this.growthPolicy = growthPolicy;
+    }
+
+    @Override
+    public void add(T element) {
+        addAt(size(), element);
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        addAll(size(), coll);
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        checkPosition(index);
+        Object[] values = coll.toArray();
+        moveGapTo(index);
+        ensureGap(values.length);
+        System.arraycopy(values, 0, buffer, gapStart, values.length);
+        gapStart += values.length;
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        checkPosition(index);
+        moveGapTo(index);
+        ensureGap(1);
+        buffer[gapStart++] = value;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buffer, null);
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        return (T) buffer[physical(index)];
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < gapStart; i++) {
+            if (Objects.equals(buffer[i], value)) {
+                return i;
+            }
+        }
+        for (int i = gapEnd; i < buffer.length; i++) {
+            if (Objects.equals(buffer[i], value)) {
+                return i - gapLength();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkIndex(index);
+        T removed;
+        if (index == gapStart - 1) {
+            // Like a backspace: the gap just swallows the element before it
+            removed = (T) buffer[--gapStart];
+            buffer[gapStart] = null;
+        } else {
+            moveGapTo(index);
+            removed = (T) buffer[gapEnd];
+            buffer[gapEnd++] = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "0 <= from <= to <= %d failed for from = %d, to = %d",
+                    size(), fromIndex, toIndex));
+        }
+        moveGapTo(fromIndex);
+        int removed = toIndex - fromIndex;
+        Arrays.fill(buffer, gapEnd, gapEnd + removed, null);
+        gapEnd += removed;
+    }
+
+    @Override
+    public T set(int index, T value) {
+        checkIndex(index);
+        int position = physical(index);
+        T old = (T) buffer[position];
+        buffer[position] = value;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - gapLength();
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        int size = size();
+        T[] copy = target.length >= size
+                ? target
+                : Arrays.copyOf(target, size);
+        System.arraycopy(buffer, 0, copy, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, copy, gapStart, buffer.length - gapEnd);
+        if (copy.length > size) {
+            copy[size] = null;
+        }
+        return copy;
+    }
+
+    @Override
+    public List<T> asList() {
+        return Arrays.asList(toArray((T[]) new Object[size()]));
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    private int physical(int index) {
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    /**
+     * Shifts the elements between the gap and index across it, so the gap
+     * starts right at index. Slots the gap moves over are cleared.
+     */
+    private void moveGapTo(int index) {
+        if (index < gapStart) {
+            int moved = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - moved, moved);
+            Arrays.fill(buffer, index, Math.min(gapStart, gapEnd - moved), null);
+            gapStart -= moved;
+            gapEnd -= moved;
+            listener.shifted(moved);
+        } else if (index > gapStart) {
+            int moved = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, moved);
+            Arrays.fill(buffer, Math.max(gapEnd, index), gapEnd + moved, null);
+            gapStart += moved;
+            gapEnd += moved;
+            listener.shifted(moved);
+        }
+    }
+
+    private void ensureGap(int needed) {
+        if (gapLength() >= needed) {
+            return;
+        }
+        int oldCapacity = buffer.length, size = size();
+        Object[] grown = new Object[growthPolicy.grow(oldCapacity, size + needed)];
+        int suffix = oldCapacity - gapEnd;
+        System.arraycopy(buffer, 0, grown, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, grown, grown.length - suffix, suffix);
+        buffer = grown;
+        gapEnd = grown.length - suffix;
+        listener.resized(oldCapacity, grown.length);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size(), index));
+        }
+    }
+
+    private void checkPosition(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size(), index));
+        }
+    }
+
+}
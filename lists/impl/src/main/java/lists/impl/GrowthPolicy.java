@@ -0,0 +1,78 @@
+package lists.impl;
+
+/**
+ * Decides how big a DynamicArray's backing array becomes once it runs out of
+ * room. Growing too little means copying the array over and over; growing too
+ * much means paying for memory that's never used.
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Arrays can't get much bigger than this on most JVMs.
+     */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Returns the new capacity for an array currently holding
+     * currentCapacity slots that needs room for at least minCapacity
+     * elements. The result must be at least minCapacity.
+     */
+    int grow(int currentCapacity, int minCapacity);
+
+    static GrowthPolicy doubling() {
+        return multiplying(2);
+    }
+
+    static GrowthPolicy oneAndAHalf() {
+        return multiplying(1.5);
+    }
+
+    static GrowthPolicy multiplying(double factor) {
+        if (factor <= 1) {
+            throw new IllegalArgumentException(
+                    String.format("Growth factor %f must be > 1", factor));
+        }
+        return (currentCapacity, minCapacity) -> clamp(
+                (long) (currentCapacity * factor), minCapacity);
+    }
+
+    static GrowthPolicy fixedIncrement(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Increment %d must be > 0", increment));
+        }
+        return (currentCapacity, minCapacity) -> clamp(
+                (long) currentCapacity + increment, minCapacity);
+    }
+
+    /**
+     * Grows to exactly what's needed when more than one element is on the way,
+     * like on an addAll, and falls back to singleAdds otherwise. Good for lists
+     * loaded in a few big batches that barely change afterwards.
+     */
+    static GrowthPolicy exactFitForBulk(GrowthPolicy singleAdds) {
+        return (currentCapacity, minCapacity) -> minCapacity > currentCapacity + 1
+                ? minCapacity
+                : singleAdds.grow(currentCapacity, minCapacity);
+    }
+
+    /**
+     * Never adds more than maxIncrement slots at a time, unless minCapacity
+     * requires it. Keeps huge arrays from doubling their footprint at once.
+     */
+    static GrowthPolicy capped(GrowthPolicy policy, int maxIncrement) {
+        if (maxIncrement <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Increment %d must be > 0", maxIncrement));
+        }
+        return (currentCapacity, minCapacity) -> Math.min(
+                policy.grow(currentCapacity, minCapacity),
+                clamp((long) currentCapacity + maxIncrement, minCapacity));
+    }
+
+    static int clamp(long capacity, int minCapacity) {
+        return (int) Math.max(minCapacity, Math.min(capacity, MAX_CAPACITY));
+    }
+
+}
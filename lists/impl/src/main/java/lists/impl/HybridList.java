@@ -1,18 +1,36 @@
 package lists.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
- * A tabular list of linked dynamic arrays with fixed lengths. The idea is that 
+ * A tabular list of dynamic arrays with fixed lengths. The idea is that 
  * it could hold more elements than an ArrayList, but still perform better than 
  * a LinkedList.
  * 
+ * Rows used to be linked, which made every get and set walk the table until 
+ * the right row was found - O(rows). Rows are only ever appended or removed at 
+ * the end, so the table is now an array based row directory: locating a row 
+ * is O(1) and the directory itself costs one reference per row, keeping the 
+ * rowSize bounded memory layout intact.
+ * 
+ * Locating an element takes a division and a modulo, or a shift and a mask 
+ * when rowSize is a power of two - which is why the default one is. Walking 
+ * the list with iterator() or listIterator() skips even that, going row by 
+ * row without allocating anything.
+ * 
  * Benchmarking showed its performance is similar to an ArrayList's, but slower 
  * - specially for smaller row sizes. Curiously, on my machine appending is 
  * slightly faster, around 30%, even when the ArrayList has plenty extra 
@@ -24,6 +42,8 @@ import java.util.stream.Collectors;
  * The first test consisted of using a small heap size (64m) and separately 
  * adding elements to each list until the heap bursts. For that test, a 
  * HybridList managed to hold 35% more elements than an ArrayList.
+ * FillUntilOutOfMemory, in the toy-list-benchmarks module, repeats that test 
+ * for any heap size, and RetainedSize measures bytes per element directly.
  * 
  * The second test simulates something closer to a real world workload. Instead 
  * of having one huge list with a bunch of numbers, we have multiple lists holding 
@@ -49,18 +69,38 @@ import java.util.stream.Collectors;
  * 
  * This implementation is, however, a good starting point for another fragmented
  * list with arbitrary row size.
+ * 
+ * Rows also make cheap snapshots possible. snapshot() returns a list sharing 
+ * this one's table, in O(1). Afterwards both lists copy the table the first 
+ * time they change, which is O(rows), and copy each shared row the first time 
+ * they write to it. Rows neither list touches stay shared for good.
  */
-public class HybridList<T> implements ToyList<T> {
+public class HybridList<T> implements ToyList<T>, Iterable<T> {
 
-    private static final int DEFAULT_ROW_SIZE = 100000;
+    // A power of two, so locating an element is a shift and a mask
+    static final int DEFAULT_ROW_SIZE = 1 << 17;
 
     // Let's use real implementations for benchmarking purposes.
-    final LinkedList<ArrayList<T>> table;
+    ArrayList<ArrayList<T>> table;
 
     private final int rowSize;
 
+    // log2(rowSize) if rowSize is a power of two, -1 otherwise
+    private final int rowShift;
+
     private int size;
 
+    // Whether table itself is shared with a snapshot
+    private boolean tableShared;
+
+    // Rows still shared with a snapshot, if any
+    private BitSet sharedRows;
+
+    private ParallelSearch parallelSearch = ParallelSearch.DEFAULT;
+
+    // Not handed down to snapshots, which are lists of their own
+    private StructuralListener listener = StructuralListener.NONE;
+
     public HybridList() {
         this(DEFAULT_ROW_SIZE);
     }
@@ -71,21 +111,44 @@ public class HybridList<T> implements ToyList<T> {
     }
 
     public HybridList(int rowSize) {
-        table = new LinkedList<>();
+        table = new ArrayList<>();
         this.rowSize = rowSize;
+        rowShift = Integer.bitCount(rowSize) == 1
+                ? Integer.numberOfTrailingZeros(rowSize)
+                : -1;
         size = 0;
     }
 
+    private HybridList(HybridList<T> source) {
+        table = source.table;
+        rowSize = source.rowSize;
+        rowShift = source.rowShift;
+        size = source.size;
+        parallelSearch = source.parallelSearch;
+        tableShared = true;
+    }
+
+    /**
+     * Returns an independent copy of this list, in O(1). Both lists share all
+     * rows until they get written to, at which point only the rows being
+     * written are copied.
+     */
+    public HybridList<T> snapshot() {
+        tableShared = true;
+        return new HybridList<>(this);
+    }
+
     @Override
     public void add(T element) {
-        if (table.isEmpty() || table.getLast().size() == rowSize) {
-            if (!table.isEmpty()) {
-                table.getLast().trimToSize();
+        claimTable();
+        if (table.isEmpty() || lastRow().size() == rowSize) {
+            if (!table.isEmpty() && !isShared(table.size() - 1)) {
+                lastRow().trimToSize();
             }
             // We expect a lot of data
             table.add(new ArrayList<>(rowSize));
         }
-        table.getLast().add(element);
+        mutableRow(table.size() - 1).add(element);
         size++;
     }
 
@@ -103,44 +166,75 @@ public class HybridList<T> implements ToyList<T> {
                     String.format("!(0 < %d <= %d)", index, size));
         }
 
-        int[] position = translateToPosition(index);
+        claimTable();
         T shifted = value;
-        int shiftTo = position[1];
-        for (ListIterator<ArrayList<T>> it = table.listIterator(position[0]);
-                it.hasNext();) {
-            ArrayList<T> row = it.next();
+        boolean carrying = true;
+        int shiftTo = columnOf(index);
+        for (int r = rowOf(index); carrying && r < table.size(); r++) {
+            ArrayList<T> row = mutableRow(r);
             row.add(shiftTo, shifted);
-            if (row.size() > rowSize) {
+            carrying = row.size() > rowSize;
+            if (carrying) {
                 shifted = row.remove(rowSize);
                 shiftTo = 0;
-            } else {
-                shifted = null;
             }
         }
-        boolean danglingElement = shifted != null;
-        if (danglingElement) {
+        if (carrying) {
             ArrayList<T> row = new ArrayList<>(rowSize);
             row.add(shifted);
             table.add(row);
         }
+        listener.shifted(size - index);
         size++;
     }
 
+    /**
+     * Instead of cascading every inserted element through the following rows,
+     * the list grows by coll.size() at once, the tail is moved back a row's
+     * worth at a time starting from the end, and coll is written into the
+     * gap: a single pass over the tail, no matter how big coll is.
+     */
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        if (coll.isEmpty()) {
+            return;
+        }
+        int tail = size - index;
+        grow(size + coll.size());
+        move(index, index + coll.size(), tail);
+        int i = index;
+        for (T value : coll) {
+            mutableRow(rowOf(i)).set(columnOf(i), value);
+            i++;
+        }
+        listener.shifted(tail);
+    }
+
     @Override
     public void clear() {
-        table.clear();
+        table = new ArrayList<>();
+        tableShared = false;
+        sharedRows = null;
         size = 0;
     }
 
     @Override
     public T get(int index) {
         checkIndex(index);
-        int[] position = translateToPosition(index);
-        return table.get(position[0]).get(position[1]);
+        return table.get(rowOf(index)).get(columnOf(index));
     }
 
     @Override
     public int indexOf(T value) {
+        if (parallelSearch.worthIt(size)) {
+            ArrayList<ArrayList<T>> rows = table;
+            return parallelSearch.first(size, rowSize, i -> Objects.equals(
+                    rows.get(rowOf(i)).get(columnOf(i)), value));
+        }
         int index = 0;
         for (ArrayList<T> row : table) {
             for (T element : row) {
@@ -155,42 +249,100 @@ public class HybridList<T> implements ToyList<T> {
     }
 
     @Override
-    public T removeAt(int index) {
-        checkIndex(index);
-        int[] position = translateToPosition(index);
-        
-        T removed = null;
-        for (ListIterator<ArrayList<T>> it = table.listIterator(position[0]);;) {
-            ArrayList<T> row = it.next();
-            // Doing this here saves us from traversing the table more than once
-            if (removed == null) {
-                removed = row.remove(position[1]);
-            }
-            if (!it.hasNext()) {
-                break;
-            } else {
-                ArrayList<T> nextRow = it.next();
-                row.add(nextRow.remove(0));
-                if (!it.hasNext()) { 
-                    break;
-                } else {
-                    // Rewind to fix the hole we left on nextRow
-                    it.previous();
+    public int lastIndexOf(T value) {
+        if (parallelSearch.worthIt(size)) {
+            ArrayList<ArrayList<T>> rows = table;
+            return parallelSearch.last(size, rowSize, i -> Objects.equals(
+                    rows.get(rowOf(i)).get(columnOf(i)), value));
+        }
+        for (int r = table.size() - 1; r >= 0; r--) {
+            ArrayList<T> row = table.get(r);
+            for (int c = row.size() - 1; c >= 0; c--) {
+                if (Objects.equals(row.get(c), value)) {
+                    return r * rowSize + c;
                 }
             }
         }
+        return -1;
+    }
+
+    /**
+     * Above ParallelSearch's threshold, rows are searched in parallel, with no
+     * two tasks ever sharing a row.
+     */
+    @Override
+    public int[] findAll(Predicate<? super T> predicate) {
+        if (parallelSearch.worthIt(size)) {
+            ArrayList<ArrayList<T>> rows = table;
+            return parallelSearch.all(size, rowSize, i -> predicate.test(
+                    rows.get(rowOf(i)).get(columnOf(i))));
+        }
+        IntDynamicArray indexes = new IntDynamicArray();
+        int index = 0;
+        for (ArrayList<T> row : table) {
+            for (T element : row) {
+                if (predicate.test(element)) {
+                    indexes.add(index);
+                }
+                index++;
+            }
+        }
+        return indexes.toIntArray();
+    }
+
+    /**
+     * Searches above the given threshold are split across a ForkJoinPool.
+     * Uses ParallelSearch.DEFAULT unless told otherwise.
+     */
+    public void setParallelSearch(ParallelSearch parallelSearch) {
+        this.parallelSearch = parallelSearch;
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkIndex(index);
+        claimTable();
+        ArrayList<T> row = mutableRow(rowOf(index));
+        T removed = row.remove(columnOf(index));
+        for (int r = rowOf(index) + 1; r < table.size(); r++) {
+            ArrayList<T> nextRow = mutableRow(r);
+            row.add(nextRow.remove(0));
+            row = nextRow;
+        }
+        listener.shifted(size - index - 1);
         size--;
-        if (table.getLast().isEmpty()) {
-            table.pollLast();
+        if (lastRow().isEmpty()) {
+            removeLastRow();
         }
         return removed;
     }
 
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "!(0 <= %d <= %d <= %d)", fromIndex, toIndex, size));
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        int tail = size - toIndex;
+        claimTable();
+        move(toIndex, fromIndex, tail);
+        truncate(size - (toIndex - fromIndex));
+        listener.shifted(tail);
+    }
+
     @Override
     public T set(int index, T value) {
         checkIndex(index);
-        int[] position = translateToPosition(index);
-        return table.get(position[0]).set(position[1], value);
+        claimTable();
+        return mutableRow(rowOf(index)).set(columnOf(index), value);
     }
 
     @Override
@@ -198,6 +350,32 @@ public class HybridList<T> implements ToyList<T> {
         return size;
     }
 
+    @Override
+    public T[] toArray(T[] target) {
+        T[] copy = target.length >= size
+                ? target
+                : Arrays.copyOf(target, size);
+        int index = 0;
+        for (ArrayList<T> row : table) {
+            for (T element : row) {
+                copy[index++] = element;
+            }
+        }
+        if (copy.length > size) {
+            copy[size] = null;
+        }
+        return copy;
+    }
+
+    /**
+     * Splits on row boundaries whenever possible, so every part walks whole
+     * rows instead of going through get for each element.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RowSpliterator<>(table, rowSize, 0, size);
+    }
+
     @Override
     public List<T> asList() {
         return table.stream()
@@ -207,7 +385,7 @@ public class HybridList<T> implements ToyList<T> {
 
     @Override
     public String toString() {
-        return asList().toString();
+        return view().toString();
     }
 
     private void checkIndex(int index) {
@@ -217,10 +395,314 @@ public class HybridList<T> implements ToyList<T> {
         }
     }
 
-    private int[] translateToPosition(int index) {
-        int row = index / rowSize;
-        int column = index % rowSize;
-        return new int[]{row, column};
+    /**
+     * Moves count elements starting at from so they start at to instead,
+     * copying a run that stays within one row on both ends at a time. Moving
+     * towards the end goes backwards, so nothing is overwritten before it's
+     * moved. The table must have been claimed.
+     */
+    private void move(int from, int to, int count) {
+        if (to < from) {
+            while (count > 0) {
+                int run = Math.min(count, rowSize
+                        - Math.max(columnOf(from), columnOf(to)));
+                ArrayList<T> target = mutableRow(rowOf(to));
+                ArrayList<T> source = table.get(rowOf(from));
+                for (int k = 0, s = columnOf(from), t = columnOf(to);
+                        k < run; k++) {
+                    target.set(t + k, source.get(s + k));
+                }
+                from += run;
+                to += run;
+                count -= run;
+            }
+        } else {
+            while (count > 0) {
+                int last = from + count - 1;
+                int run = Math.min(count, 1 + Math.min(
+                        columnOf(last), columnOf(to + count - 1)));
+                ArrayList<T> target = mutableRow(rowOf(to + count - 1));
+                ArrayList<T> source = table.get(rowOf(last));
+                for (int k = 0, s = columnOf(last),
+                        t = columnOf(to + count - 1); k < run; k++) {
+                    target.set(t - k, source.get(s - k));
+                }
+                count -= run;
+            }
+        }
+    }
+
+    /**
+     * Appends nulls until the list holds newSize elements, a row at a time.
+     */
+    private void grow(int newSize) {
+        claimTable();
+        while (size < newSize) {
+            if (table.isEmpty() || lastRow().size() == rowSize) {
+                if (!table.isEmpty() && !isShared(table.size() - 1)) {
+                    lastRow().trimToSize();
+                }
+                table.add(new ArrayList<>(rowSize));
+            }
+            ArrayList<T> row = mutableRow(table.size() - 1);
+            int added = Math.min(rowSize - row.size(), newSize - size);
+            row.addAll(Collections.nCopies(added, null));
+            size += added;
+        }
+    }
+
+    private void truncate(int newSize) {
+        claimTable();
+        int rows = (newSize + rowSize - 1) / rowSize;
+        while (table.size() > rows) {
+            removeLastRow();
+        }
+        if (rows > 0) {
+            ArrayList<T> row = mutableRow(rows - 1);
+            row.subList(newSize - (rows - 1) * rowSize, row.size()).clear();
+        }
+        size = newSize;
+    }
+
+    private ArrayList<T> lastRow() {
+        return table.get(table.size() - 1);
+    }
+
+    private void removeLastRow() {
+        table.remove(table.size() - 1);
+        if (sharedRows != null) {
+            sharedRows.clear(table.size());
+        }
+    }
+
+    /**
+     * Must be called before changing the table or any of its rows: if the
+     * table is shared with a snapshot, it's copied and all its rows are marked
+     * as shared.
+     */
+    private void claimTable() {
+        if (tableShared) {
+            table = new ArrayList<>(table);
+            sharedRows = new BitSet(table.size());
+            sharedRows.set(0, table.size());
+            tableShared = false;
+        }
+    }
+
+    private boolean isShared(int row) {
+        return tableShared || (sharedRows != null && sharedRows.get(row));
+    }
+
+    /**
+     * Returns a row that can be written to, copying it first if it's shared
+     * with a snapshot. The table must have been claimed.
+     */
+    private ArrayList<T> mutableRow(int row) {
+        if (sharedRows != null && sharedRows.get(row)) {
+            ArrayList<T> copy = new ArrayList<>(rowSize);
+            copy.addAll(table.get(row));
+            table.set(row, copy);
+            sharedRows.clear(row);
+        }
+        return table.get(row);
+    }
+
+    private int rowOf(int index) {
+        return rowShift >= 0 ? index >>> rowShift : index / rowSize;
+    }
+
+    private int columnOf(int index) {
+        return rowShift >= 0 ? index & (rowSize - 1) : index % rowSize;
+    }
+
+    /**
+     * Walks the rows directly, so traversing doesn't allocate anything past
+     * the iterator itself. Changes made through it are copy-on-write, just
+     * like the list's own; changes made to the list any other way while
+     * iterating have undefined results.
+     */
+    @Override
+    public ListIterator<T> iterator() {
+        return listIterator(0);
+    }
+
+    public ListIterator<T> listIterator() {
+        return listIterator(0);
+    }
+
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        return new Cursor(index);
+    }
+
+    private class Cursor implements ListIterator<T> {
+
+        // Index of the element next() returns
+        private int index;
+
+        // Where that element is. Column can also be rowSize, at the end of a
+        // full row, which is the same as the start of the next one.
+        private int row, column;
+
+        private int lastReturned = -1;
+
+        Cursor(int index) {
+            moveTo(index);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public T next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            if (column == rowSize) {
+                row++;
+                column = 0;
+            }
+            lastReturned = index++;
+            return table.get(row).get(column++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (index <= 0) {
+                throw new NoSuchElementException();
+            }
+            if (column == 0) {
+                row--;
+                column = rowSize;
+            }
+            lastReturned = --index;
+            return table.get(row).get(--column);
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(lastReturned);
+            moveTo(lastReturned);
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(T value) {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            HybridList.this.set(lastReturned, value);
+        }
+
+        @Override
+        public void add(T value) {
+            addAt(index, value);
+            moveTo(index + 1);
+            lastReturned = -1;
+        }
+
+        private void moveTo(int index) {
+            this.index = index;
+            row = rowOf(index);
+            column = columnOf(index);
+        }
+
+    }
+
+    private static class RowSpliterator<T> implements Spliterator<T> {
+
+        private final ArrayList<ArrayList<T>> table;
+
+        private final int rowSize;
+
+        private int origin;
+
+        private final int fence;
+
+        RowSpliterator(ArrayList<ArrayList<T>> table, int rowSize, 
+                int origin, int fence) {
+            this.table = table;
+            this.rowSize = rowSize;
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (origin >= fence) {
+                return false;
+            }
+            action.accept(table.get(origin / rowSize).get(origin % rowSize));
+            origin++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (origin < fence) {
+                ArrayList<T> row = table.get(origin / rowSize);
+                int column = origin % rowSize,
+                    end = Math.min(row.size(), column + fence - origin);
+                if (end <= column) {
+                    throw new ConcurrentModificationException();
+                }
+                for (; column < end; column++, origin++) {
+                    action.accept(row.get(column));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (origin + fence) >>> 1;
+            // Prefer the row boundary right before the middle, unless the
+            // whole range fits in one row
+            int rowStart = mid - mid % rowSize;
+            if (rowStart > origin) {
+                mid = rowStart;
+            }
+            if (mid <= origin) {
+                return null;
+            }
+            Spliterator<T> prefix 
+                    = new RowSpliterator<>(table, rowSize, origin, mid);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+
     }
 
 }
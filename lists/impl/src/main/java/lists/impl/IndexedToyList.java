@@ -0,0 +1,209 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * Wraps any ToyList with a hash index from each value to the positions it
+ * sits at, so indexOf, lastIndexOf and contains become O(1) expected instead
+ * of a linear scan.
+ *
+ * Positions are kept sorted per value, in IntDynamicArrays, and updated as the
+ * list changes: add and addAll just append positions; set moves one position
+ * from the old value to the new one; addAt and removeAt also have to shift
+ * every position after the index, which is O(n) - about the same as the
+ * shifting the list itself does. Bulk inserts and removals in the middle
+ * rebuild the index from scratch.
+ *
+ * All that costs memory, which estimatedIndexBytes() reports, so the index is
+ * only worth it for lists searched far more often than they're changed.
+ *
+ * The wrapped list must not be changed other than through this one.
+ */
+public class IndexedToyList<T> implements ToyList<T> {
+
+    private final ToyList<T> list;
+
+    private final Map<T, IntDynamicArray> positions = new HashMap<>();
+
+    public IndexedToyList(ToyList<T> list) {
+        this.list = list;
+        rebuild();
+    }
+
+    @Override
+    public void add(T element) {
+        list.add(element);
+        positionsOf(element).add(list.size() - 1);
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        int index = list.size();
+        list.addAll(coll);
+        for (T element : coll) {
+            positionsOf(element).add(index++);
+        }
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        list.addAll(index, coll);
+        rebuild();
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        list.addAt(index, value);
+        shift(index, 1);
+        IntDynamicArray indexes = positionsOf(value);
+        indexes.addAt(insertionPoint(indexes, index), index);
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+        positions.clear();
+    }
+
+    @Override
+    public T get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public int indexOf(T value) {
+        IntDynamicArray indexes = positions.get(value);
+        return indexes == null ? -1 : indexes.getInt(0);
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        IntDynamicArray indexes = positions.get(value);
+        return indexes == null ? -1 : indexes.getInt(indexes.size() - 1);
+    }
+
+    @Override
+    public boolean contains(T value) {
+        return positions.containsKey(value);
+    }
+
+    @Override
+    public int[] findAll(Predicate<? super T> predicate) {
+        return list.findAll(predicate);
+    }
+
+    @Override
+    public T removeAt(int index) {
+        T removed = list.removeAt(index);
+        forget(removed, index);
+        shift(index + 1, -1);
+        return removed;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        list.removeRange(fromIndex, toIndex);
+        rebuild();
+    }
+
+    @Override
+    public T set(int index, T value) {
+        T old = list.set(index, value);
+        forget(old, index);
+        IntDynamicArray indexes = positionsOf(value);
+        indexes.addAt(insertionPoint(indexes, index), index);
+        return old;
+    }
+
+    @Override
+    public void setStructuralListener(StructuralListener listener) {
+        list.setStructuralListener(listener);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public List<T> asList() {
+        return list.asList();
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        return list.toArray(target);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    /**
+     * A rough estimate of how much heap the index takes, assuming a 64 bit JVM
+     * with compressed references: the map's table and entries, plus an
+     * IntDynamicArray and its backing array per distinct value.
+     */
+    public long estimatedIndexBytes() {
+        long tableLength = Math.max(16, Integer.highestOneBit(
+                Math.max((int) (positions.size() / 0.75f), 1) * 2 - 1));
+        long bytes = 16 + 4 * tableLength;
+        for (IntDynamicArray indexes : positions.values()) {
+            bytes += 32 // HashMap.Node
+                    + 24 // IntDynamicArray
+                    + 16 + 4L * indexes.array.length;
+        }
+        return bytes;
+    }
+
+    private void rebuild() {
+        positions.clear();
+        int[] index = {0};
+        list.spliterator().forEachRemaining(
+                value -> positionsOf(value).add(index[0]++));
+    }
+
+    private IntDynamicArray positionsOf(T value) {
+        return positions.computeIfAbsent(value, v -> new IntDynamicArray(1));
+    }
+
+    private void forget(T value, int index) {
+        IntDynamicArray indexes = positions.get(value);
+        indexes.removeIntAt(insertionPoint(indexes, index));
+        if (indexes.size() == 0) {
+            positions.remove(value);
+        }
+    }
+
+    /**
+     * Adds delta to every position from index onwards.
+     */
+    private void shift(int index, int delta) {
+        for (IntDynamicArray indexes : positions.values()) {
+            for (int i = insertionPoint(indexes, index); i < indexes.size; i++) {
+                indexes.array[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Returns where index is in indexes, or where it should go if it isn't.
+     */
+    private int insertionPoint(IntDynamicArray indexes, int index) {
+        int found = Arrays.binarySearch(indexes.array, 0, indexes.size, index);
+        return found >= 0 ? found : -found - 1;
+    }
+
+}
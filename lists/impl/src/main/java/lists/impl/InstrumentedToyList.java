@@ -0,0 +1,399 @@
+package lists.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Wraps any ToyList to find out where its time goes: every operation's
+ * latency is recorded in a LatencyHistogram of its own, and the wrapped
+ * list's resizes, row splits, row merges and shifted elements are counted
+ * through a StructuralListener.
+ *
+ * Everything can be pulled with histogram(operation) and the getters, or
+ * through JMX once register(name) is called. Disabling it, from code or from
+ * JMX, skips the clock and detaches the listener, leaving a volatile read per
+ * call as the only overhead.
+ */
+public class InstrumentedToyList<T> implements ToyList<T>, ToyListStatsMXBean {
+
+    public enum Operation {
+        ADD, ADD_ALL, ADD_ALL_AT, ADD_AT, CLEAR, GET, INDEX_OF, LAST_INDEX_OF,
+        CONTAINS, FIND_ALL, REMOVE_AT, REMOVE_RANGE, SET, AS_LIST, TO_ARRAY
+    }
+
+    private final ToyList<T> list;
+
+    private final Map<Operation, LatencyHistogram> histograms
+            = new EnumMap<>(Operation.class);
+
+    private final LongAdder resizes = new LongAdder();
+
+    private final LongAdder rowSplits = new LongAdder();
+
+    private final LongAdder rowMerges = new LongAdder();
+
+    private final LongAdder shifted = new LongAdder();
+
+    private final StructuralListener counters = new StructuralListener() {
+        @Override
+        public void resized(int oldCapacity, int newCapacity) {
+            resizes.increment();
+        }
+
+        @Override
+        public void rowSplit() {
+            rowSplits.increment();
+        }
+
+        @Override
+        public void rowsMerged() {
+            rowMerges.increment();
+        }
+
+        @Override
+        public void shifted(int elements) {
+            shifted.add(elements);
+        }
+    };
+
+    private volatile boolean enabled;
+
+    public InstrumentedToyList(ToyList<T> list) {
+        this.list = list;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+        setEnabled(true);
+    }
+
+    /**
+     * Registers this list with the platform MBean server, as
+     * lists.impl:type=InstrumentedToyList,name=(name).
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName(
+                "lists.impl:type=InstrumentedToyList,name=" + name);
+        ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(this, objectName);
+        return objectName;
+    }
+
+    public LatencyHistogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    @Override
+    public void add(T element) {
+        if (!enabled) {
+            list.add(element);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            list.add(element);
+        } finally {
+            record(Operation.ADD, start);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        if (!enabled) {
+            list.addAll(coll);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            list.addAll(coll);
+        } finally {
+            record(Operation.ADD_ALL, start);
+        }
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        if (!enabled) {
+            list.addAll(index, coll);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            list.addAll(index, coll);
+        } finally {
+            record(Operation.ADD_ALL_AT, start);
+        }
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        if (!enabled) {
+            list.addAt(index, value);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            list.addAt(index, value);
+        } finally {
+            record(Operation.ADD_AT, start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (!enabled) {
+            list.clear();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            list.clear();
+        } finally {
+            record(Operation.CLEAR, start);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (!enabled) {
+            return list.get(index);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.get(index);
+        } finally {
+            record(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public int indexOf(T value) {
+        if (!enabled) {
+            return list.indexOf(value);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.indexOf(value);
+        } finally {
+            record(Operation.INDEX_OF, start);
+        }
+    }
+
+    @Override
+    public int lastIndexOf(T value) {
+        if (!enabled) {
+            return list.lastIndexOf(value);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.lastIndexOf(value);
+        } finally {
+            record(Operation.LAST_INDEX_OF, start);
+        }
+    }
+
+    @Override
+    public boolean contains(T value) {
+        if (!enabled) {
+            return list.contains(value);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.contains(value);
+        } finally {
+            record(Operation.CONTAINS, start);
+        }
+    }
+
+    @Override
+    public int[] findAll(Predicate<? super T> predicate) {
+        if (!enabled) {
+            return list.findAll(predicate);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.findAll(predicate);
+        } finally {
+            record(Operation.FIND_ALL, start);
+        }
+    }
+
+    @Override
+    public T removeAt(int index) {
+        if (!enabled) {
+            return list.removeAt(index);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.removeAt(index);
+        } finally {
+            record(Operation.REMOVE_AT, start);
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (!enabled) {
+            list.removeRange(fromIndex, toIndex);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            list.removeRange(fromIndex, toIndex);
+        } finally {
+            record(Operation.REMOVE_RANGE, start);
+        }
+    }
+
+    @Override
+    public T set(int index, T value) {
+        if (!enabled) {
+            return list.set(index, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.set(index, value);
+        } finally {
+            record(Operation.SET, start);
+        }
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public List<T> asList() {
+        if (!enabled) {
+            return list.asList();
+        }
+        long start = System.nanoTime();
+        try {
+            return list.asList();
+        } finally {
+            record(Operation.AS_LIST, start);
+        }
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        if (!enabled) {
+            return list.toArray(target);
+        }
+        long start = System.nanoTime();
+        try {
+            return list.toArray(target);
+        } finally {
+            record(Operation.TO_ARRAY, start);
+        }
+    }
+
+    /**
+     * Traversals go straight to the wrapped list's own spliterator instead of
+     * through get, so streaming doesn't flood the GET histogram with one
+     * sample per element. Nothing is recorded for them.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        list.setStructuralListener(
+                enabled ? counters : StructuralListener.NONE);
+    }
+
+    @Override
+    public long getResizes() {
+        return resizes.sum();
+    }
+
+    @Override
+    public long getRowSplits() {
+        return rowSplits.sum();
+    }
+
+    @Override
+    public long getRowMerges() {
+        return rowMerges.sum();
+    }
+
+    @Override
+    public long getElementsShifted() {
+        return shifted.sum();
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return perOperation(LatencyHistogram::count);
+    }
+
+    @Override
+    public Map<String, Long> getMedianNanos() {
+        return perOperation(histogram -> histogram.percentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return perOperation(histogram -> histogram.percentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxNanos() {
+        return perOperation(LatencyHistogram::max);
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        resizes.reset();
+        rowSplits.reset();
+        rowMerges.reset();
+        shifted.reset();
+    }
+
+    private void record(Operation operation, long start) {
+        histograms.get(operation).record(System.nanoTime() - start);
+    }
+
+    /**
+     * Only operations that were called at least once are included.
+     */
+    private Map<String, Long> perOperation(
+            ToLongFunction<LatencyHistogram> stat) {
+        Map<String, Long> stats = new TreeMap<>();
+        for (Map.Entry<Operation, LatencyHistogram> entry
+                : histograms.entrySet()) {
+            if (entry.getValue().count() > 0) {
+                stats.put(entry.getKey().name(),
+                        stat.applyAsLong(entry.getValue()));
+            }
+        }
+        return stats;
+    }
+
+}
@@ -0,0 +1,154 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import static lists.impl.DynamicArray.GROWTH_FACTOR;
+
+/**
+ * A DynamicArray backed by an int[], so values are never boxed as long as the
+ * primitive overloads (add(int), getInt, set(int, int), indexOf(int) and so on)
+ * are used. The ToyList methods are still there for code written against the
+ * interface, they just box and unbox on the way in and out.
+ *
+ * Nulls can't be stored: adding one throws a NullPointerException and looking
+ * one up always returns -1.
+ */
+public class IntDynamicArray implements ToyList<Integer> {
+
+    protected int[] array;
+
+    protected int size;
+
+    public IntDynamicArray() {
+        this(32);
+    }
+
+    public IntDynamicArray(int capacity) {
+        array = new int[capacity];
+    }
+
+    public void add(int element) {
+        ensureCapacity();
+        array[size++] = element;
+    }
+
+    @Override
+    public void add(Integer element) {
+        add((int) element);
+    }
+
+    @Override
+    public void addAll(Collection<Integer> coll) {
+        for (Integer element : coll) {
+            add((int) element);
+        }
+    }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Integer value) {
+        return value == null ? -1 : indexOf((int) value);
+    }
+
+    public void addAt(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size, index));
+        }
+        ensureCapacity();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    @Override
+    public void addAt(int index, Integer value) {
+        addAt(index, (int) value);
+    }
+
+    public int set(int index, int value) {
+        checkIndex(index);
+        int old = array[index];
+        array[index] = value;
+        return old;
+    }
+
+    @Override
+    public Integer set(int index, Integer value) {
+        return set(index, (int) value);
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    public int removeIntAt(int index) {
+        checkIndex(index);
+        int removed = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public Integer removeAt(int index) {
+        return removeIntAt(index);
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity() {
+        if (array.length == size) {
+            array = Arrays.copyOf(array,
+                    Math.max((int) (array.length * GROWTH_FACTOR), 1));
+        }
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public List<Integer> asList() {
+        return Arrays.stream(array, 0, size)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+}
@@ -0,0 +1,209 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A HybridList whose rows are int[], so values are never boxed as long as the
+ * primitive overloads (add(int), getInt, set(int, int), indexOf(int) and so on)
+ * are used. The ToyList methods are still there for code written against the
+ * interface, they just box and unbox on the way in and out.
+ *
+ * Like HybridList, every row but the last one is always full. Nulls can't be
+ * stored: adding one throws a NullPointerException and looking one up always
+ * returns -1.
+ */
+public class IntHybridList implements ToyList<Integer> {
+
+    private static final int DEFAULT_ROW_SIZE = 100000;
+
+    int[][] table;
+
+    int rows;
+
+    private final int rowSize;
+
+    private int size;
+
+    public IntHybridList() {
+        this(DEFAULT_ROW_SIZE);
+    }
+
+    public IntHybridList(int rowSize) {
+        table = new int[8][];
+        this.rowSize = rowSize;
+        rows = 0;
+        size = 0;
+    }
+
+    public void add(int element) {
+        if (size == rows * rowSize) {
+            appendRow();
+        }
+        table[rows - 1][size - (rows - 1) * rowSize] = element;
+        size++;
+    }
+
+    @Override
+    public void add(Integer element) {
+        add((int) element);
+    }
+
+    @Override
+    public void addAll(Collection<Integer> coll) {
+        for (Integer value : coll) {
+            add((int) value);
+        }
+    }
+
+    public void addAt(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        if (size == rows * rowSize) {
+            appendRow();
+        }
+
+        int shifted = value;
+        int shiftTo = index % rowSize;
+        int lastRow = size / rowSize;
+        for (int r = index / rowSize; r < lastRow; r++) {
+            int[] row = table[r];
+            int carried = row[rowSize - 1];
+            System.arraycopy(row, shiftTo, row, shiftTo + 1, rowSize - shiftTo - 1);
+            row[shiftTo] = shifted;
+            shifted = carried;
+            shiftTo = 0;
+        }
+        int[] row = table[lastRow];
+        int used = size - lastRow * rowSize;
+        System.arraycopy(row, shiftTo, row, shiftTo + 1, used - shiftTo);
+        row[shiftTo] = shifted;
+        size++;
+    }
+
+    @Override
+    public void addAt(int index, Integer value) {
+        addAt(index, (int) value);
+    }
+
+    @Override
+    public void clear() {
+        table = new int[8][];
+        rows = 0;
+        size = 0;
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        return table[index / rowSize][index % rowSize];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    public int indexOf(int value) {
+        for (int r = 0; r < rows; r++) {
+            int[] row = table[r];
+            int used = Math.min(rowSize, size - r * rowSize);
+            for (int c = 0; c < used; c++) {
+                if (row[c] == value) {
+                    return r * rowSize + c;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Integer value) {
+        return value == null ? -1 : indexOf((int) value);
+    }
+
+    public int removeIntAt(int index) {
+        checkIndex(index);
+        int r = index / rowSize, column = index % rowSize;
+        int lastRow = (size - 1) / rowSize;
+        int removed = table[r][column];
+        for (; r < lastRow; r++) {
+            int[] row = table[r];
+            System.arraycopy(row, column + 1, row, column, rowSize - column - 1);
+            row[rowSize - 1] = table[r + 1][0];
+            column = 0;
+        }
+        int[] row = table[lastRow];
+        int used = size - lastRow * rowSize;
+        System.arraycopy(row, column + 1, row, column, used - column - 1);
+        size--;
+        if (size == (rows - 1) * rowSize) {
+            table[--rows] = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public Integer removeAt(int index) {
+        return removeIntAt(index);
+    }
+
+    public int set(int index, int value) {
+        checkIndex(index);
+        int[] row = table[index / rowSize];
+        int old = row[index % rowSize];
+        row[index % rowSize] = value;
+        return old;
+    }
+
+    @Override
+    public Integer set(int index, Integer value) {
+        return set(index, (int) value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int[] toIntArray() {
+        int[] values = new int[size];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(table[r], 0, values, r * rowSize,
+                    Math.min(rowSize, size - r * rowSize));
+        }
+        return values;
+    }
+
+    @Override
+    public List<Integer> asList() {
+        List<Integer> values = new ArrayList<>(size);
+        for (int value : toIntArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private void appendRow() {
+        if (rows == table.length) {
+            table = Arrays.copyOf(table, rows * 2);
+        }
+        table[rows++] = new int[rowSize];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d < %d)", index, size));
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package lists.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log-linear histogram of latencies in nanoseconds, in the spirit of
+ * HdrHistogram: every power of two is split into 16 buckets, so any recorded
+ * value is reported within about 6% of itself, from single nanoseconds up to
+ * Long.MAX_VALUE, in a fixed 8KB or so.
+ *
+ * Recording is thread-safe and lock-free, so it can be read while it's being
+ * written to. Reads aren't atomic snapshots, though: a percentile computed
+ * while values are being recorded may or may not count them.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(
+            (64 - SUB_BUCKET_BITS) * HALF + SUB_BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Negative values, which a clock going backwards could produce, are
+     * recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : total.get() / (double) recorded;
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded
+     * values fall, rounded up to the top of its bucket, or 0 if nothing was
+     * recorded.
+     */
+    public long percentile(double percentage) {
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException(String.format(
+                    "!(0 <= %f <= 100)", percentage));
+        }
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentage / 100 * recorded));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= target) {
+                return Math.min(highestValueIn(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Values below SUB_BUCKETS get a bucket each. Past that, each power of
+     * two gets HALF buckets, picked by the value's top SUB_BUCKET_BITS bits.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        long top = bucket % HALF + HALF;
+        long highest = ((top + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+}
@@ -0,0 +1,154 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import static lists.impl.DynamicArray.GROWTH_FACTOR;
+
+/**
+ * A DynamicArray backed by a long[], so values are never boxed as long as the
+ * primitive overloads (add(long), getLong, set(int, long), indexOf(long) and so
+ * on) are used. The ToyList methods are still there for code written against
+ * the interface, they just box and unbox on the way in and out.
+ *
+ * Nulls can't be stored: adding one throws a NullPointerException and looking
+ * one up always returns -1.
+ */
+public class LongDynamicArray implements ToyList<Long> {
+
+    protected long[] array;
+
+    protected int size;
+
+    public LongDynamicArray() {
+        this(32);
+    }
+
+    public LongDynamicArray(int capacity) {
+        array = new long[capacity];
+    }
+
+    public void add(long element) {
+        ensureCapacity();
+        array[size++] = element;
+    }
+
+    @Override
+    public void add(Long element) {
+        add((long) element);
+    }
+
+    @Override
+    public void addAll(Collection<Long> coll) {
+        for (Long element : coll) {
+            add((long) element);
+        }
+    }
+
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Long value) {
+        return value == null ? -1 : indexOf((long) value);
+    }
+
+    public void addAt(int index, long value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size, index));
+        }
+        ensureCapacity();
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = value;
+        size++;
+    }
+
+    @Override
+    public void addAt(int index, Long value) {
+        addAt(index, (long) value);
+    }
+
+    public long set(int index, long value) {
+        checkIndex(index);
+        long old = array[index];
+        array[index] = value;
+        return old;
+    }
+
+    @Override
+    public Long set(int index, Long value) {
+        return set(index, (long) value);
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    public long removeLongAt(int index) {
+        checkIndex(index);
+        long removed = array[index];
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    @Override
+    public Long removeAt(int index) {
+        return removeLongAt(index);
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity() {
+        if (array.length == size) {
+            array = Arrays.copyOf(array,
+                    Math.max((int) (array.length * GROWTH_FACTOR), 1));
+        }
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public List<Long> asList() {
+        return Arrays.stream(array, 0, size)
+                .boxed()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+}
@@ -0,0 +1,209 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A HybridList whose rows are long[], so values are never boxed as long as the
+ * primitive overloads (add(long), getLong, set(int, long), indexOf(long) and so
+ * on) are used. The ToyList methods are still there for code written against
+ * the interface, they just box and unbox on the way in and out.
+ *
+ * Like HybridList, every row but the last one is always full. Nulls can't be
+ * stored: adding one throws a NullPointerException and looking one up always
+ * returns -1.
+ */
+public class LongHybridList implements ToyList<Long> {
+
+    private static final int DEFAULT_ROW_SIZE = 100000;
+
+    long[][] table;
+
+    int rows;
+
+    private final int rowSize;
+
+    private int size;
+
+    public LongHybridList() {
+        this(DEFAULT_ROW_SIZE);
+    }
+
+    public LongHybridList(int rowSize) {
+        table = new long[8][];
+        this.rowSize = rowSize;
+        rows = 0;
+        size = 0;
+    }
+
+    public void add(long element) {
+        if (size == rows * rowSize) {
+            appendRow();
+        }
+        table[rows - 1][size - (rows - 1) * rowSize] = element;
+        size++;
+    }
+
+    @Override
+    public void add(Long element) {
+        add((long) element);
+    }
+
+    @Override
+    public void addAll(Collection<Long> coll) {
+        for (Long value : coll) {
+            add((long) value);
+        }
+    }
+
+    public void addAt(int index, long value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        if (size == rows * rowSize) {
+            appendRow();
+        }
+
+        long shifted = value;
+        int shiftTo = index % rowSize;
+        int lastRow = size / rowSize;
+        for (int r = index / rowSize; r < lastRow; r++) {
+            long[] row = table[r];
+            long carried = row[rowSize - 1];
+            System.arraycopy(row, shiftTo, row, shiftTo + 1, rowSize - shiftTo - 1);
+            row[shiftTo] = shifted;
+            shifted = carried;
+            shiftTo = 0;
+        }
+        long[] row = table[lastRow];
+        int used = size - lastRow * rowSize;
+        System.arraycopy(row, shiftTo, row, shiftTo + 1, used - shiftTo);
+        row[shiftTo] = shifted;
+        size++;
+    }
+
+    @Override
+    public void addAt(int index, Long value) {
+        addAt(index, (long) value);
+    }
+
+    @Override
+    public void clear() {
+        table = new long[8][];
+        rows = 0;
+        size = 0;
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return table[index / rowSize][index % rowSize];
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    public int indexOf(long value) {
+        for (int r = 0; r < rows; r++) {
+            long[] row = table[r];
+            int used = Math.min(rowSize, size - r * rowSize);
+            for (int c = 0; c < used; c++) {
+                if (row[c] == value) {
+                    return r * rowSize + c;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Long value) {
+        return value == null ? -1 : indexOf((long) value);
+    }
+
+    public long removeLongAt(int index) {
+        checkIndex(index);
+        int r = index / rowSize, column = index % rowSize;
+        int lastRow = (size - 1) / rowSize;
+        long removed = table[r][column];
+        for (; r < lastRow; r++) {
+            long[] row = table[r];
+            System.arraycopy(row, column + 1, row, column, rowSize - column - 1);
+            row[rowSize - 1] = table[r + 1][0];
+            column = 0;
+        }
+        long[] row = table[lastRow];
+        int used = size - lastRow * rowSize;
+        System.arraycopy(row, column + 1, row, column, used - column - 1);
+        size--;
+        if (size == (rows - 1) * rowSize) {
+            table[--rows] = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public Long removeAt(int index) {
+        return removeLongAt(index);
+    }
+
+    public long set(int index, long value) {
+        checkIndex(index);
+        long[] row = table[index / rowSize];
+        long old = row[index % rowSize];
+        row[index % rowSize] = value;
+        return old;
+    }
+
+    @Override
+    public Long set(int index, Long value) {
+        return set(index, (long) value);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public long[] toLongArray() {
+        long[] values = new long[size];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(table[r], 0, values, r * rowSize,
+                    Math.min(rowSize, size - r * rowSize));
+        }
+        return values;
+    }
+
+    @Override
+    public List<Long> asList() {
+        List<Long> values = new ArrayList<>(size);
+        for (long value : toLongArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private void appendRow() {
+        if (rows == table.length) {
+            table = Arrays.copyOf(table, rows * 2);
+        }
+        table[rows++] = new long[rowSize];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d < %d)", index, size));
+        }
+    }
+
+}
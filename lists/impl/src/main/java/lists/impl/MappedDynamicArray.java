@@ -0,0 +1,352 @@
+package lists.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import static lists.impl.DynamicArray.GROWTH_FACTOR;
+
+/**
+ * A DynamicArray whose backing array is a memory-mapped file. Elements are
+ * stored through an ElementCodec, right after a small header holding the
+ * element width and the list's size, so reopening a file is just a matter of
+ * mapping it again: nothing is parsed or deserialized, and the OS pages data in
+ * as it's touched. That also means lists can be larger than the available RAM.
+ *
+ * Growth follows DynamicArray's: when the file is full its capacity is
+ * multiplied by GROWTH_FACTOR and it's mapped again. Since a single mapping
+ * can't exceed 2GB, the file is mapped as a sequence of segments; elements
+ * never straddle two segments.
+ *
+ * The size in the header is updated on every change, but like any other
+ * mapped file there's no durability guarantee until force() or close() is
+ * called. Mappings are only released once they get garbage collected, even
+ * after close(). Nulls can't be stored.
+ */
+public class MappedDynamicArray<T> implements ToyList<T>, Closeable {
+
+    public enum Mode { READ_ONLY, READ_WRITE }
+
+    private static final int MAGIC = 0x544f594c;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int WIDTH_OFFSET = 8;
+
+    private static final int SIZE_OFFSET = 16;
+
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final RandomAccessFile file;
+
+    private final FileChannel channel;
+
+    private final ElementCodec<T> codec;
+
+    private final Mode mode;
+
+    private final int width;
+
+    private final int segmentCapacity;
+
+    private MappedByteBuffer header;
+
+    private MappedByteBuffer[] segments;
+
+    private int capacity;
+
+    private int size;
+
+    public MappedDynamicArray(Path path, ElementCodec<T> codec)
+            throws IOException {
+        this(path, codec, Mode.READ_WRITE);
+    }
+
+    /**
+     * Opens a list previously saved to path. In READ_WRITE mode, a missing or
+     * empty file starts a new list.
+     */
+    public MappedDynamicArray(Path path, ElementCodec<T> codec, Mode mode)
+            throws IOException {
+        this(path, codec, mode, SEGMENT_BYTES);
+    }
+
+    /**
+     * Maps the file in segments of up to segmentBytes, so tests can cross
+     * segment boundaries without gigabytes of data.
+     */
+    MappedDynamicArray(Path path, ElementCodec<T> codec, Mode mode,
+            int segmentBytes) throws IOException {
+        this.file = new RandomAccessFile(path.toFile(),
+                mode == Mode.READ_ONLY ? "r" : "rw");
+        this.channel = file.getChannel();
+        this.codec = codec;
+        this.mode = mode;
+        this.width = codec.width();
+        this.segmentCapacity = segmentBytes / width;
+        try {
+            if (channel.size() == 0 && mode == Mode.READ_WRITE) {
+                file.setLength(HEADER_BYTES + (long) INITIAL_CAPACITY * width);
+                header = channel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(WIDTH_OFFSET, width);
+                header.putLong(SIZE_OFFSET, 0);
+            } else {
+                readHeader();
+            }
+            long fileCapacity = (channel.size() - HEADER_BYTES) / width;
+            if (fileCapacity > Integer.MAX_VALUE) {
+                throw new IOException(String.format(
+                        "File has room for %d elements, more than %d",
+                        fileCapacity, Integer.MAX_VALUE));
+            }
+            map((int) fileCapacity);
+            long storedSize = header.getLong(SIZE_OFFSET);
+            if (storedSize < 0 || storedSize > capacity) {
+                throw new IOException(String.format(
+                        "Corrupted file: size %d for a capacity of %d",
+                        storedSize, capacity));
+            }
+            size = (int) storedSize;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void add(T element) {
+        checkWritable();
+        Objects.requireNonNull(element);
+        ensureCapacity(size + 1);
+        codec.write(segmentOf(size), offsetOf(size), element);
+        setSize(size + 1);
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        checkWritable();
+        ensureCapacity(size + coll.size());
+        for (T element : coll) {
+            add(element);
+        }
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(codec.read(segmentOf(i), offsetOf(i)), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        checkWritable();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size, index));
+        }
+        Objects.requireNonNull(value);
+        ensureCapacity(size + 1);
+        move(index, index + 1, size - index);
+        codec.write(segmentOf(index), offsetOf(index), value);
+        setSize(size + 1);
+    }
+
+    @Override
+    public T set(int index, T value) {
+        checkWritable();
+        Objects.requireNonNull(value);
+        T old = get(index);
+        codec.write(segmentOf(index), offsetOf(index), value);
+        return old;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        return codec.read(segmentOf(index), offsetOf(index));
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkWritable();
+        T removed = get(index);
+        move(index + 1, index, size - index - 1);
+        setSize(size - 1);
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        checkWritable();
+        setSize(0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Flushes every change made so far to the underlying file.
+     */
+    public void force() {
+        if (mode == Mode.READ_WRITE) {
+            header.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        file.close();
+    }
+
+    @Override
+    public List<T> asList() {
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(codec.read(segmentOf(i), offsetOf(i)));
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private void readHeader() throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            throw new IOException("Not a MappedDynamicArray file: too short");
+        }
+        header = channel.map(mapMode(), 0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a MappedDynamicArray file: bad magic");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(String.format(
+                    "Unsupported MappedDynamicArray version %d",
+                    header.getInt(4)));
+        }
+        if (header.getInt(WIDTH_OFFSET) != width) {
+            throw new IOException(String.format(
+                    "File holds %d byte elements, codec writes %d bytes",
+                    header.getInt(WIDTH_OFFSET), width));
+        }
+    }
+
+    private void checkWritable() {
+        if (mode == Mode.READ_ONLY) {
+            throw new UnsupportedOperationException("List opened read-only");
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+    }
+
+    private void setSize(int size) {
+        this.size = size;
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            long grown = (long) (capacity * GROWTH_FACTOR);
+            int newCapacity = (int) Math.min(Integer.MAX_VALUE,
+                    Math.max(grown, minCapacity));
+            try {
+                file.setLength(HEADER_BYTES + (long) newCapacity * width);
+                map(newCapacity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void map(int capacity) throws IOException {
+        int count = (int) (((long) capacity + segmentCapacity - 1)
+                / segmentCapacity);
+        MappedByteBuffer[] remapped = new MappedByteBuffer[count];
+        for (int s = 0; s < count; s++) {
+            long first = (long) s * segmentCapacity;
+            long elements = Math.min(segmentCapacity, capacity - first);
+            remapped[s] = channel.map(mapMode(),
+                    HEADER_BYTES + first * width, elements * width);
+        }
+        segments = remapped;
+        this.capacity = capacity;
+    }
+
+    private MapMode mapMode() {
+        return mode == Mode.READ_ONLY ? MapMode.READ_ONLY : MapMode.READ_WRITE;
+    }
+
+    private ByteBuffer segmentOf(int index) {
+        return segments[index / segmentCapacity];
+    }
+
+    private int offsetOf(int index) {
+        return (index % segmentCapacity) * width;
+    }
+
+    /**
+     * Moves count elements starting at from so they start at to instead.
+     * Every run that stays within one segment on both ends is copied with a
+     * single bulk put, which behaves as if through an intermediate buffer
+     * when both ends overlap. Runs are taken from the end when moving
+     * towards it, so nothing is overwritten before it's moved.
+     */
+    private void move(int from, int to, int count) {
+        while (count > 0) {
+            int source, target, run;
+            if (to < from) {
+                run = Math.min(count, segmentCapacity - Math.max(
+                        from % segmentCapacity, to % segmentCapacity));
+                source = from;
+                target = to;
+                from += run;
+                to += run;
+            } else {
+                run = Math.min(count, 1 + Math.min(
+                        (from + count - 1) % segmentCapacity,
+                        (to + count - 1) % segmentCapacity));
+                source = from + count - run;
+                target = to + count - run;
+            }
+            ByteBuffer bytes = segmentOf(source).duplicate();
+            bytes.limit(offsetOf(source) + run * width);
+            bytes.position(offsetOf(source));
+            ByteBuffer destination = segmentOf(target).duplicate();
+            destination.position(offsetOf(target));
+            destination.put(bytes);
+            count -= run;
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package lists.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A HybridList whose rows live outside of the Java heap, in direct
+ * ByteBuffers. Elements are stored through an ElementCodec, which means they
+ * must have a fixed width - numbers or fixed size records, not arbitrary
+ * objects.
+ *
+ * The point is to keep very large lists from weighing on the garbage
+ * collector: the heap only holds one small ByteBuffer object per row, no matter
+ * how many elements there are, so there's nothing for GC to scan or move. It
+ * also means the list can grow past -Xmx, up to -XX:MaxDirectMemorySize. The
+ * price is an encode on every write and a decode (and usually an allocation)
+ * on every read.
+ *
+ * Row memory is released once the row's ByteBuffer gets collected, so clear()
+ * and removals don't hand memory back right away.
+ *
+ * Like HybridList, every row but the last one is always full. Nulls can't be
+ * stored.
+ */
+public class OffHeapHybridList<T> implements ToyList<T> {
+
+    private static final int DEFAULT_ROW_SIZE = 100000;
+
+    final ArrayList<ByteBuffer> table;
+
+    private final ElementCodec<T> codec;
+
+    private final int width;
+
+    private final int rowSize;
+
+    private int size;
+
+    public OffHeapHybridList(ElementCodec<T> codec) {
+        this(codec, DEFAULT_ROW_SIZE);
+    }
+
+    public OffHeapHybridList(ElementCodec<T> codec, int rowSize) {
+        if ((long) rowSize * codec.width() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "A row of %d elements of %d bytes doesn't fit in a buffer",
+                    rowSize, codec.width()));
+        }
+        table = new ArrayList<>();
+        this.codec = codec;
+        this.width = codec.width();
+        this.rowSize = rowSize;
+        size = 0;
+    }
+
+    @Override
+    public void add(T element) {
+        Objects.requireNonNull(element);
+        if (size == table.size() * rowSize) {
+            table.add(ByteBuffer.allocateDirect(rowSize * width));
+        }
+        codec.write(table.get(table.size() - 1), (size % rowSize) * width,
+                element);
+        size++;
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        for (T value : coll) {
+            add(value);
+        }
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d <= %d)", index, size));
+        }
+        Objects.requireNonNull(value);
+        if (size == table.size() * rowSize) {
+            table.add(ByteBuffer.allocateDirect(rowSize * width));
+        }
+
+        // Going from the last row backwards means every element is moved
+        // before its slot gets overwritten, so nothing has to be buffered.
+        int firstRow = index / rowSize, column = index % rowSize;
+        int lastRow = size / rowSize;
+        for (int r = lastRow; r >= firstRow; r--) {
+            ByteBuffer row = table.get(r);
+            int from = r == firstRow ? column : 0;
+            int used = r == lastRow ? size - lastRow * rowSize : rowSize - 1;
+            moveElements(row, from, from + 1, used - from);
+            if (r > firstRow) {
+                copyElement(table.get(r - 1), rowSize - 1, row, 0);
+            }
+        }
+        codec.write(table.get(firstRow), column * width, value);
+        size++;
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+        size = 0;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index);
+        return codec.read(table.get(index / rowSize), (index % rowSize) * width);
+    }
+
+    @Override
+    public int indexOf(T value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(
+                    codec.read(table.get(i / rowSize), (i % rowSize) * width),
+                    value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T removeAt(int index) {
+        checkIndex(index);
+        T removed = get(index);
+
+        int firstRow = index / rowSize, column = index % rowSize;
+        int lastRow = (size - 1) / rowSize;
+        for (int r = firstRow; r <= lastRow; r++) {
+            ByteBuffer row = table.get(r);
+            int from = r == firstRow ? column : 0;
+            int used = r == lastRow ? size - lastRow * rowSize : rowSize;
+            moveElements(row, from + 1, from, used - from - 1);
+            if (r < lastRow) {
+                copyElement(table.get(r + 1), 0, row, rowSize - 1);
+            }
+        }
+        size--;
+        if (size == (table.size() - 1) * rowSize) {
+            table.remove(table.size() - 1);
+        }
+        return removed;
+    }
+
+    @Override
+    public T set(int index, T value) {
+        Objects.requireNonNull(value);
+        T old = get(index);
+        codec.write(table.get(index / rowSize), (index % rowSize) * width,
+                value);
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * How much direct memory the rows are currently holding.
+     */
+    public long offHeapBytes() {
+        return (long) table.size() * rowSize * width;
+    }
+
+    @Override
+    public List<T> asList() {
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(codec.read(table.get(i / rowSize), (i % rowSize) * width));
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("!(0 < %d < %d)", index, size));
+        }
+    }
+
+    private void copyElement(ByteBuffer source, int sourceColumn,
+            ByteBuffer target, int targetColumn) {
+        int from = sourceColumn * width, to = targetColumn * width;
+        for (int b = 0; b < width; b++) {
+            target.put(to + b, source.get(from + b));
+        }
+    }
+
+    /**
+     * Moves count elements inside a row, memmove style: the ranges may
+     * overlap. Bytes go eight at a time whenever possible.
+     */
+    private void moveElements(ByteBuffer row, int fromColumn, int toColumn,
+            int count) {
+        int from = fromColumn * width, to = toColumn * width;
+        int length = count * width;
+        if (length <= 0 || from == to) {
+            return;
+        }
+        if (to > from) {
+            int end = length;
+            for (; end >= Long.BYTES; end -= Long.BYTES) {
+                row.putLong(to + end - Long.BYTES,
+                        row.getLong(from + end - Long.BYTES));
+            }
+            for (; end > 0; end--) {
+                row.put(to + end - 1, row.get(from + end - 1));
+            }
+        } else {
+            int start = 0;
+            for (; length - start >= Long.BYTES; start += Long.BYTES) {
+                row.putLong(to + start, row.getLong(from + start));
+            }
+            for (; start < length; start++) {
+                row.put(to + start, row.get(from + start));
+            }
+        }
+    }
+
+}
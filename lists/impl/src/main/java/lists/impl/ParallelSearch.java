@@ -0,0 +1,166 @@
+package lists.impl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+/**
+ * Linear searches over a range of indexes, split across a ForkJoinPool once
+ * the range is at least threshold long. Shorter ranges aren't worth the
+ * forking, so callers are expected to search those themselves.
+ *
+ * The range is cut into chunks, each a multiple of some alignment - 1 for
+ * arrays, the row size for HybridLists - so no two tasks ever touch the same
+ * row. Chunks are scanned in order, so as soon as one finds a match, every
+ * chunk past it (or before it, for last) gives up.
+ *
+ * The default threshold comes from the lists.impl.parallelSearchThreshold
+ * system property, and defaults to 2^16.
+ */
+public final class ParallelSearch {
+
+    public static final ParallelSearch DEFAULT = new ParallelSearch(
+            ForkJoinPool.commonPool(),
+            Integer.getInteger("lists.impl.parallelSearchThreshold", 1 << 16));
+
+    // How many chunks each worker gets, so a slow one doesn't hold everyone
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    // How often a chunk checks whether someone else already found a match
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final ForkJoinPool pool;
+
+    private final int threshold;
+
+    public ParallelSearch(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Threshold %d must be >= 1", threshold));
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public boolean worthIt(int length) {
+        return length >= threshold;
+    }
+
+    /**
+     * Returns the smallest index in [0, length) that matches, or -1.
+     */
+    public int first(int length, int alignment, IntPredicate matches) {
+        AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+        search(length, alignment, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if ((i - from) % CHECK_INTERVAL == 0 && found.get() < from) {
+                    return;
+                }
+                if (matches.test(i)) {
+                    found.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        });
+        return found.get() == Integer.MAX_VALUE ? -1 : found.get();
+    }
+
+    /**
+     * Returns the biggest index in [0, length) that matches, or -1.
+     */
+    public int last(int length, int alignment, IntPredicate matches) {
+        AtomicInteger found = new AtomicInteger(-1);
+        search(length, alignment, (from, to) -> {
+            for (int i = to - 1; i >= from; i--) {
+                if ((to - i) % CHECK_INTERVAL == 0 && found.get() >= to) {
+                    return;
+                }
+                if (matches.test(i)) {
+                    found.accumulateAndGet(i, Math::max);
+                    return;
+                }
+            }
+        });
+        return found.get();
+    }
+
+    /**
+     * Returns every index in [0, length) that matches, in ascending order.
+     */
+    public int[] all(int length, int alignment, IntPredicate matches) {
+        int chunk = chunkSize(length, alignment);
+        int[][] perChunk = new int[(length + chunk - 1) / chunk][];
+        search(length, alignment, (from, to) -> {
+            IntDynamicArray indexes = new IntDynamicArray();
+            for (int i = from; i < to; i++) {
+                if (matches.test(i)) {
+                    indexes.add(i);
+                }
+            }
+            perChunk[from / chunk] = indexes.toIntArray();
+        });
+        int total = 0;
+        for (int[] indexes : perChunk) {
+            total += indexes.length;
+        }
+        int[] all = new int[total];
+        int copied = 0;
+        for (int[] indexes : perChunk) {
+            System.arraycopy(indexes, 0, all, copied, indexes.length);
+            copied += indexes.length;
+        }
+        return all;
+    }
+
+    private interface ChunkSearch {
+        void search(int from, int to);
+    }
+
+    private void search(int length, int alignment, ChunkSearch chunkSearch) {
+        if (length == 0) {
+            return;
+        }
+        int chunk = chunkSize(length, alignment);
+        pool.invoke(new Chunks(0, (length + chunk - 1) / chunk, chunk, length,
+                chunkSearch));
+    }
+
+    private int chunkSize(int length, int alignment) {
+        long perWorker = Math.max(1,
+                length / ((long) pool.getParallelism() * CHUNKS_PER_WORKER));
+        long aligned = (perWorker + alignment - 1) / alignment * alignment;
+        return (int) Math.min(aligned, Math.max(length, 1));
+    }
+
+    private static class Chunks extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to, chunk, length;
+
+        private final ChunkSearch chunkSearch;
+
+        Chunks(int from, int to, int chunk, int length, ChunkSearch chunkSearch) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.length = length;
+            this.chunkSearch = chunkSearch;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunkSearch.search(from * chunk,
+                        (int) Math.min((long) to * chunk, length));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunks(from, mid, chunk, length, chunkSearch),
+                    new Chunks(mid, to, chunk, length, chunkSearch));
+        }
+
+    }
+
+}
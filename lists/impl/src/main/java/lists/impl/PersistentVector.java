@@ -0,0 +1,554 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable list whose "changes" return new versions sharing almost all of
+ * their memory with the old one, for when many versions of the same big list
+ * have to be kept around. It's the vector from Clojure and Scala: a trie
+ * where every node holds up to 32 children and leaves hold 32 elements, plus
+ * a tail holding the last (up to) 32 elements outside of the trie.
+ *
+ * With 32 children per node even a billion elements are just 6 levels deep,
+ * so get is effectively O(1). withSet and withoutLast copy the path from the
+ * root down to one leaf, and withAppended mostly just copies the tail: every
+ * version costs O(log n) memory instead of a whole copy.
+ *
+ * A trie can't shift elements around though, so withInserted and withRemoved
+ * rebuild everything after the index - O(n - index) - sharing only what comes
+ * before it. They're cheap near the end and as expensive as a DynamicArray
+ * copy near the start.
+ *
+ * The ToyList methods that would change the list throw
+ * UnsupportedOperationException. To build or change a lot at once, get a
+ * Transient with asTransient(), change it in place through the ToyList
+ * methods, and turn it back into a PersistentVector with persistent(). A
+ * Transient copies each node the first time it touches it and then reuses
+ * the copy, so bulk loads don't pay for a new version per element.
+ */
+public final class PersistentVector<T> implements ToyList<T> {
+
+    private static final int BITS = 5;
+
+    private static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(
+            0, BITS, new Node(null, new Object[WIDTH]), new Object[0]);
+
+    final int size;
+
+    // How far to shift an index to find its slot in the root
+    final int shift;
+
+    final Node root;
+
+    final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> PersistentVector<T> of(Collection<T> coll) {
+        Transient<T> builder = PersistentVector.<T>empty().asTransient();
+        builder.addAll(coll);
+        return builder.persistent();
+    }
+
+    public Transient<T> asTransient() {
+        return new Transient<>(this);
+    }
+
+    public PersistentVector<T> withAppended(T value) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(
+                size + 1, newShift, newRoot, new Object[] {value});
+    }
+
+    public PersistentVector<T> withSet(int index, T value) {
+        checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(
+                size, shift, set(null, shift, root, index, value), tail);
+    }
+
+    public PersistentVector<T> withoutLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Empty vector");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root,
+                    Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = arrayFor(size - 2, size, shift, root, tail);
+        Node newRoot = popTail(null, size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY.root;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    public PersistentVector<T> withInserted(int index, T value) {
+        Transient<T> builder = asTransient();
+        builder.addAt(index, value);
+        return builder.persistent();
+    }
+
+    public PersistentVector<T> withRemoved(int index) {
+        Transient<T> builder = asTransient();
+        builder.removeAt(index);
+        return builder.persistent();
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size);
+        return (T) arrayFor(index, size, shift, root, tail)[index & MASK];
+    }
+
+    @Override
+    public int indexOf(T value) {
+        return indexOf(value, size, shift, root, tail);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<T> asList() {
+        return Arrays.asList(toArray((T[]) new Object[size]));
+    }
+
+    @Override
+    public String toString() {
+        return view().toString();
+    }
+
+    @Override
+    public void add(T element) {
+        throw new UnsupportedOperationException("Use withAppended");
+    }
+
+    @Override
+    public void addAll(Collection<T> coll) {
+        throw new UnsupportedOperationException("Use asTransient");
+    }
+
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        throw new UnsupportedOperationException("Use asTransient");
+    }
+
+    @Override
+    public void addAt(int index, T value) {
+        throw new UnsupportedOperationException("Use withInserted");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Use empty");
+    }
+
+    @Override
+    public T removeAt(int index) {
+        throw new UnsupportedOperationException("Use withRemoved");
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException("Use asTransient");
+    }
+
+    @Override
+    public T set(int index, T value) {
+        throw new UnsupportedOperationException("Use withSet");
+    }
+
+    /**
+     * A mutable version of a PersistentVector, for changing it a lot at once.
+     * Nodes copied by a Transient belong to it, and are changed in place until
+     * persistent() is called; after that, changing it throws an
+     * IllegalStateException. The vector it came from never changes.
+     */
+    public static final class Transient<T> implements ToyList<T> {
+
+        // Marks the nodes this transient may change in place. Null once
+        // persistent() is called
+        private Object owner = new Object();
+
+        private int size, shift;
+
+        private Node root;
+
+        // Always WIDTH long, unlike a PersistentVector's
+        private Object[] tail;
+
+        private Transient(PersistentVector<T> vector) {
+            size = vector.size;
+            shift = vector.shift;
+            root = new Node(owner, vector.root.array.clone());
+            tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        public PersistentVector<T> persistent() {
+            ensureEditable();
+            owner = null;
+            return new PersistentVector<>(size, shift, root,
+                    Arrays.copyOf(tail, size - tailOffset(size)));
+        }
+
+        @Override
+        public void add(T element) {
+            ensureEditable();
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size++ & MASK] = element;
+                return;
+            }
+            Node tailNode = new Node(owner, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(owner, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(owner, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(owner, size, shift, root, tailNode);
+            }
+            size++;
+        }
+
+        @Override
+        public void addAll(Collection<T> coll) {
+            for (T element : coll) {
+                add(element);
+            }
+        }
+
+        @Override
+        public void addAll(int index, Collection<T> coll) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "0 <= i <= %d failed for i = %d", size, index));
+            }
+            Object[] suffix = truncate(index);
+            addAll(coll);
+            appendAll(suffix);
+        }
+
+        /**
+         * O(size - index): everything after index is taken out and appended
+         * back.
+         */
+        @Override
+        public void addAt(int index, T value) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "0 <= i <= %d failed for i = %d", size, index));
+            }
+            Object[] suffix = truncate(index);
+            add(value);
+            appendAll(suffix);
+        }
+
+        @Override
+        public void clear() {
+            ensureEditable();
+            size = 0;
+            shift = BITS;
+            root = new Node(owner, new Object[WIDTH]);
+            tail = new Object[WIDTH];
+        }
+
+        @Override
+        public T get(int index) {
+            checkIndex(index, size);
+            return (T) arrayFor(index, size, shift, root, tail)[index & MASK];
+        }
+
+        @Override
+        public int indexOf(T value) {
+            return PersistentVector.indexOf(value, size, shift, root, tail);
+        }
+
+        /**
+         * O(size - index), like addAt.
+         */
+        @Override
+        public T removeAt(int index) {
+            checkIndex(index, size);
+            T removed = get(index);
+            removeRange(index, index + 1);
+            return removed;
+        }
+
+        @Override
+        public void removeRange(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "0 <= from <= to <= %d failed for from = %d, to = %d",
+                        size, fromIndex, toIndex));
+            }
+            Object[] suffix = truncate(toIndex);
+            truncate(fromIndex);
+            appendAll(suffix);
+        }
+
+        @Override
+        public T set(int index, T value) {
+            checkIndex(index, size);
+            ensureEditable();
+            T old = get(index);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = value;
+            } else {
+                root = PersistentVector.set(owner, shift, root, index, value);
+            }
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<T> asList() {
+            return Arrays.asList(toArray((T[]) new Object[size]));
+        }
+
+        @Override
+        public String toString() {
+            return view().toString();
+        }
+
+        /**
+         * Drops everything from index onwards, returning what was dropped.
+         */
+        private Object[] truncate(int index) {
+            ensureEditable();
+            Object[] dropped = new Object[size - index];
+            for (int i = 0; i < dropped.length; i++) {
+                dropped[i] = get(index + i);
+            }
+            while (size > index) {
+                removeLast();
+            }
+            return dropped;
+        }
+
+        private void appendAll(Object[] values) {
+            for (Object value : values) {
+                add((T) value);
+            }
+        }
+
+        private void removeLast() {
+            if (size - tailOffset(size) > 1) {
+                tail[--size & MASK] = null;
+                return;
+            }
+            if (size == 1) {
+                tail[0] = null;
+                size = 0;
+                return;
+            }
+            Object[] newTail = arrayFor(size - 2, size, shift, root, tail)
+                    .clone();
+            Node newRoot = popTail(owner, size, shift, root);
+            if (newRoot == null) {
+                newRoot = new Node(owner, new Object[WIDTH]);
+            }
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = editable(owner, (Node) newRoot.array[0]);
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size--;
+        }
+
+        private void ensureEditable() {
+            if (owner == null) {
+                throw new IllegalStateException(
+                        "Transient used after persistent()");
+            }
+        }
+
+    }
+
+    static final class Node {
+
+        // The Transient that may change this node in place, if any
+        final Object owner;
+
+        final Object[] array;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+
+    }
+
+    /**
+     * Index of the first element in the tail.
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static Object[] arrayFor(int index, int size, int shift, Node root,
+            Object[] tail) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static int indexOf(Object value, int size, int shift, Node root,
+            Object[] tail) {
+        for (int leaf = 0; leaf < size; leaf += WIDTH) {
+            Object[] elements = arrayFor(leaf, size, shift, root, tail);
+            int length = Math.min(WIDTH, size - leaf);
+            for (int i = 0; i < length; i++) {
+                if (Objects.equals(elements[i], value)) {
+                    return leaf + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns node itself if owner may change it in place, or a copy owned by
+     * owner otherwise. A null owner always gets a copy.
+     */
+    private static Node editable(Object owner, Node node) {
+        return owner != null && node.owner == owner
+                ? node
+                : new Node(owner, node.array.clone());
+    }
+
+    private static Node set(Object owner, int level, Node node, int index,
+            Object value) {
+        Node copy = editable(owner, node);
+        if (level == 0) {
+            copy.array[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy.array[slot] = set(owner, level - BITS,
+                    (Node) node.array[slot], index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Wraps node in as many single child parents as it takes to reach level.
+     */
+    private static Node newPath(Object owner, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node parent = new Node(owner, new Object[WIDTH]);
+        parent.array[0] = newPath(owner, level - BITS, node);
+        return parent;
+    }
+
+    /**
+     * Moves a full tail into the trie. size still counts the tail's elements.
+     */
+    private static Node pushTail(Object owner, int size, int level,
+            Node parent, Node tailNode) {
+        Node copy = editable(owner, parent);
+        int slot = ((size - 1) >>> level) & MASK;
+        Node child;
+        if (level == BITS) {
+            child = tailNode;
+        } else {
+            Node existing = (Node) parent.array[slot];
+            child = existing == null
+                    ? newPath(owner, level - BITS, tailNode)
+                    : pushTail(owner, size, level - BITS, existing, tailNode);
+        }
+        copy.array[slot] = child;
+        return copy;
+    }
+
+    /**
+     * Takes the rightmost leaf out of the trie, returning null if nothing is
+     * left under node.
+     */
+    private static Node popTail(Object owner, int size, int level, Node node) {
+        int slot = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(owner, size, level - BITS,
+                    (Node) node.array[slot]);
+            if (child == null && slot == 0) {
+                return null;
+            }
+            Node copy = editable(owner, node);
+            copy.array[slot] = child;
+            return copy;
+        }
+        if (slot == 0) {
+            return null;
+        }
+        Node copy = editable(owner, node);
+        copy.array[slot] = null;
+        return copy;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i < %d failed for i = %d", size, index));
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package lists.impl;
+
+/**
+ * Gets told about the expensive things a list does behind the scenes: 
+ * resizing its backing array, splitting or merging rows and shifting elements
+ * around. Every method does nothing by default.
+ * 
+ * Lists start with NONE, whose calls the JIT inlines into nothing, so lists 
+ * nobody listens to don't pay for it.
+ */
+public interface StructuralListener {
+
+    StructuralListener NONE = new StructuralListener() { };
+
+    default void resized(int oldCapacity, int newCapacity) { }
+
+    default void rowSplit() { }
+
+    default void rowsMerged() { }
+
+    /**
+     * Called with how many elements an operation moved to another position.
+     */
+    default void shifted(int elements) { }
+
+}
@@ -0,0 +1,114 @@
+package lists.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Makes any ToyList thread-safe the same way Collections.synchronizedList 
+ * does: every method holds this list's monitor, so calls never overlap and 
+ * each one sees everything done by the ones before it.
+ * 
+ * Also like Collections.synchronizedList, traversing it through view(), 
+ * spliterator() or a stream takes many calls, so it has to be done inside a 
+ * synchronized block on this list to see a consistent state.
+ */
+public class SynchronizedToyList<T> implements ToyList<T> {
+    
+    private final ToyList<T> list;
+
+    public SynchronizedToyList(ToyList<T> list) {
+        this.list = list;
+    }
+
+    @Override
+    public synchronized void add(T element) {
+        list.add(element);
+    }
+
+    @Override
+    public synchronized void addAll(Collection<T> coll) {
+        list.addAll(coll);
+    }
+
+    @Override
+    public synchronized void addAll(int index, Collection<T> coll) {
+        list.addAll(index, coll);
+    }
+
+    @Override
+    public synchronized void addAt(int index, T value) {
+        list.addAt(index, value);
+    }
+
+    @Override
+    public synchronized void clear() {
+        list.clear();
+    }
+
+    @Override
+    public synchronized T get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public synchronized int indexOf(T value) {
+        return list.indexOf(value);
+    }
+
+    @Override
+    public synchronized int lastIndexOf(T value) {
+        return list.lastIndexOf(value);
+    }
+
+    @Override
+    public synchronized boolean contains(T value) {
+        return list.contains(value);
+    }
+
+    @Override
+    public synchronized int[] findAll(Predicate<? super T> predicate) {
+        return list.findAll(predicate);
+    }
+
+    @Override
+    public synchronized T removeAt(int index) {
+        return list.removeAt(index);
+    }
+
+    @Override
+    public synchronized void removeRange(int fromIndex, int toIndex) {
+        list.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public synchronized T set(int index, T value) {
+        return list.set(index, value);
+    }
+
+    @Override
+    public synchronized void setStructuralListener(StructuralListener listener) {
+        list.setStructuralListener(listener);
+    }
+
+    @Override
+    public synchronized int size() {
+        return list.size();
+    }
+
+    @Override
+    public synchronized List<T> asList() {
+        return list.asList();
+    }
+
+    @Override
+    public synchronized T[] toArray(T[] target) {
+        return list.toArray(target);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return list.toString();
+    }
+    
+}
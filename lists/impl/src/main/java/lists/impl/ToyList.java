@@ -1,7 +1,14 @@
 package lists.impl;
 
+import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface ToyList<T> {
 
@@ -9,6 +16,21 @@ public interface ToyList<T> {
 
     void addAll(Collection<T> coll);
 
+    /**
+     * Inserts every element of coll starting at index, shifting what was
+     * there to the right. The default implementation inserts one element at a
+     * time; implementations are expected to shift only once per call.
+     */
+    default void addAll(int index, Collection<T> coll) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("0 <= i <= %d failed for i = %d", size(), index));
+        }
+        for (T value : coll) {
+            addAt(index++, value);
+        }
+    }
+
     void addAt(int index, T value);
 
     void clear();
@@ -17,11 +39,114 @@ public interface ToyList<T> {
 
     int indexOf(T value);
 
+    default int lastIndexOf(T value) {
+        for (int i = size() - 1; i >= 0; i--) {
+            if (Objects.equals(get(i), value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    default boolean contains(T value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the indexes of every element matching the predicate, in
+     * ascending order.
+     */
+    default int[] findAll(Predicate<? super T> predicate) {
+        IntDynamicArray indexes = new IntDynamicArray();
+        for (int i = 0; i < size(); i++) {
+            if (predicate.test(get(i))) {
+                indexes.add(i);
+            }
+        }
+        return indexes.toIntArray();
+    }
+
     T removeAt(int index);
 
+    /**
+     * Removes elements from fromIndex, inclusive, to toIndex, exclusive.
+     */
+    default void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "0 <= from <= to <= %d failed for from = %d, to = %d",
+                    size(), fromIndex, toIndex));
+        }
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            removeAt(i);
+        }
+    }
+
     T set(int index, T value);
 
     int size();
-    
+
+    /**
+     * Lists that do expensive work behind the scenes - resizing, splitting 
+     * rows, shifting elements - report it to the given listener. Others just
+     * ignore it, which is what the default implementation does.
+     */
+    default void setStructuralListener(StructuralListener listener) { }
+
+    /**
+     * Returns a copy of the list. See view() for a List that doesn't copy.
+     */
     List<T> asList();
+
+    /**
+     * Returns a live List backed by this one, without copying anything:
+     * changes to either are seen by the other. Removing through
+     * subList(from, to).clear() goes through removeRange.
+     */
+    default List<T> view() {
+        return new ToyListView<>(this);
+    }
+
+    /**
+     * Same as view(), but read-only. Changes to this list are still seen.
+     */
+    default List<T> unmodifiableView() {
+        return Collections.unmodifiableList(view());
+    }
+
+    /**
+     * Returns a sized spliterator over the list's current range, splitting it
+     * in halves. The list shouldn't change size until it's done.
+     */
+    default Spliterator<T> spliterator() {
+        return new ToyListSpliterator<>(this);
+    }
+
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Copies the list into target if it fits, or into a new array of the same
+     * type otherwise. Just like Collection.toArray, if target is longer than
+     * the list, the slot right after the last element is set to null.
+     */
+    default T[] toArray(T[] target) {
+        int size = size();
+        T[] copy = target.length >= size
+                ? target
+                : (T[]) Array.newInstance(
+                        target.getClass().getComponentType(), size);
+        for (int i = 0; i < size; i++) {
+            copy[i] = get(i);
+        }
+        if (copy.length > size) {
+            copy[size] = null;
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,307 @@
+package lists.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Writes any ToyList to a channel in a compact binary format, and reads it
+ * back into any other, without going through asList() or Java serialization.
+ * Elements are encoded with an ElementCodec, so they take exactly
+ * codec.width() bytes each instead of an object graph.
+ *
+ * The list is streamed in blocks of blockSize elements - by default the same
+ * as a HybridList's rows, so reading into a HybridList with the same row size
+ * fills it one row per block. Only one block is ever held in memory, on
+ * either side. Blocks can be compressed with Deflater, each on its own.
+ *
+ * The format, all big endian:
+ *
+ * - a 32 byte header: magic, version, flags (bit 0 set if compressed),
+ * element width and block size as ints, then the element count as a long,
+ * and 4 bytes of padding;
+ * - then each block: its element count and how many bytes follow as ints,
+ * then the elements, deflated if compressed.
+ *
+ * The header describes everything needed to read it back, so any
+ * ToyListSerializer with a codec of the same width can. Nulls can't be
+ * written.
+ */
+public class ToyListSerializer<T> {
+
+    public static final int DEFAULT_BLOCK_SIZE = HybridList.DEFAULT_ROW_SIZE;
+
+    private static final int MAGIC = 0x544f5953;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int BLOCK_HEADER_BYTES = 8;
+
+    private static final int COMPRESSED = 1;
+
+    private final ElementCodec<T> codec;
+
+    private final int blockSize;
+
+    private final boolean compressed;
+
+    public ToyListSerializer(ElementCodec<T> codec) {
+        this(codec, DEFAULT_BLOCK_SIZE, false);
+    }
+
+    public ToyListSerializer(ElementCodec<T> codec, int blockSize,
+            boolean compressed) {
+        if (blockSize < 1
+                || (long) blockSize * codec.width() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "!(1 <= %d <= %d)", blockSize,
+                    Integer.MAX_VALUE / codec.width()));
+        }
+        this.codec = codec;
+        this.blockSize = blockSize;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Streams list to channel, block by block. The list must not change
+     * while it's written; if its size does, a
+     * ConcurrentModificationException is thrown.
+     */
+    public void write(ToyList<T> list, WritableByteChannel channel)
+            throws IOException {
+        int size = list.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(compressed ? COMPRESSED : 0)
+                .putInt(codec.width())
+                .putInt(blockSize)
+                .putLong(size);
+        header.clear();
+        writeFully(channel, header);
+
+        // No need for a whole block's worth of room for short lists
+        BlockWriter writer = new BlockWriter(
+                channel, Math.max(1, Math.min(blockSize, size)));
+        try {
+            list.spliterator().forEachRemaining(writer);
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.end();
+        }
+        if (writer.written != size) {
+            throw new ConcurrentModificationException(String.format(
+                    "Expected %d elements, wrote %d", size, writer.written));
+        }
+    }
+
+    /**
+     * Reads a list written by write from channel, appending its elements to
+     * target one block at a time. Returns target.
+     */
+    public <L extends ToyList<T>> L read(ReadableByteChannel channel,
+            L target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(channel, header);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a ToyList stream: bad magic");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(String.format(
+                    "Unsupported ToyList stream version %d", header.getInt(4)));
+        }
+        boolean deflated = (header.getInt(8) & COMPRESSED) != 0;
+        int width = header.getInt(12);
+        if (width != codec.width()) {
+            throw new IOException(String.format(
+                    "Stream holds %d byte elements, codec reads %d bytes",
+                    width, codec.width()));
+        }
+        int storedBlockSize = header.getInt(16);
+        long size = header.getLong(20);
+        if (storedBlockSize < 1
+                || (long) storedBlockSize * width > Integer.MAX_VALUE
+                || size < 0 || size > Integer.MAX_VALUE) {
+            throw new IOException(String.format(
+                    "Corrupted stream: block size %d, size %d",
+                    storedBlockSize, size));
+        }
+
+        ByteBuffer block = ByteBuffer.allocate(
+                (int) Math.min(storedBlockSize, size) * width);
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        Inflater inflater = deflated ? new Inflater() : null;
+        byte[] payload = new byte[0];
+        try {
+            for (long read = 0; read < size; ) {
+                blockHeader.clear();
+                readFully(channel, blockHeader);
+                int elements = blockHeader.getInt(0);
+                int bytes = blockHeader.getInt(4);
+                if (elements < 1 || elements > storedBlockSize
+                        || elements > size - read || bytes < 0
+                        || (!deflated && bytes != elements * width)) {
+                    throw new IOException(String.format(
+                            "Corrupted stream: block of %d elements in %d bytes",
+                            elements, bytes));
+                }
+                block.clear().limit(elements * width);
+                if (deflated) {
+                    if (payload.length < bytes) {
+                        payload = new byte[bytes];
+                    }
+                    readFully(channel, ByteBuffer.wrap(payload, 0, bytes));
+                    inflate(inflater, payload, bytes, block);
+                } else {
+                    readFully(channel, block);
+                }
+                for (int i = 0; i < elements; i++) {
+                    target.add(codec.read(block, i * width));
+                }
+                read += elements;
+            }
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Encodes elements into a block sized buffer, writing it out whenever it
+     * fills up.
+     */
+    private class BlockWriter implements Consumer<T> {
+
+        private final WritableByteChannel channel;
+
+        private final ByteBuffer block;
+
+        private final ByteBuffer blockHeader
+                = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+
+        private final Deflater deflater = compressed ? new Deflater() : null;
+
+        private byte[] deflated = new byte[0];
+
+        private final int capacity;
+
+        private int buffered;
+
+        long written;
+
+        BlockWriter(WritableByteChannel channel, int capacity) {
+            this.channel = channel;
+            this.capacity = capacity;
+            block = ByteBuffer.allocate(capacity * codec.width());
+        }
+
+        @Override
+        public void accept(T value) {
+            Objects.requireNonNull(value);
+            codec.write(block, buffered * codec.width(), value);
+            if (++buffered == capacity) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            if (buffered == 0) {
+                return;
+            }
+            int bytes = buffered * codec.width();
+            ByteBuffer payload;
+            if (compressed) {
+                int length = deflate(bytes);
+                payload = ByteBuffer.wrap(deflated, 0, length);
+            } else {
+                payload = ByteBuffer.wrap(block.array(), 0, bytes);
+            }
+            blockHeader.clear();
+            blockHeader.putInt(0, buffered).putInt(4, payload.remaining());
+            writeFully(channel, blockHeader);
+            writeFully(channel, payload);
+            written += buffered;
+            buffered = 0;
+        }
+
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+
+        private int deflate(int bytes) {
+            deflater.reset();
+            deflater.setInput(block.array(), 0, bytes);
+            deflater.finish();
+            if (deflated.length == 0) {
+                deflated = new byte[bytes + bytes / 1000 + 64];
+            }
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == deflated.length) {
+                    deflated = Arrays.copyOf(
+                            deflated, deflated.length * 2);
+                }
+                length += deflater.deflate(
+                        deflated, length, deflated.length - length);
+            }
+            return length;
+        }
+
+    }
+
+    private static void inflate(Inflater inflater, byte[] payload, int bytes,
+            ByteBuffer block) throws IOException {
+        inflater.reset();
+        inflater.setInput(payload, 0, bytes);
+        try {
+            int inflated = inflater.inflate(block.array(), 0, block.limit());
+            if (inflated != block.limit() || !inflater.finished()) {
+                throw new IOException(String.format(
+                        "Corrupted stream: expected %d bytes, inflated %d",
+                        block.limit(), inflated));
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted stream: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel,
+            ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(ReadableByteChannel channel,
+            ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException(String.format(
+                        "Stream ended %d bytes early", buffer.remaining()));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package lists.impl;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterates over a range of a ToyList's indexes, going through get. Splits
+ * cut the range in half, so every part knows exactly how many elements it
+ * covers.
+ *
+ * The range is fixed when the spliterator is created. Changing the list's
+ * size while it's being traversed has undefined results.
+ */
+class ToyListSpliterator<T> implements Spliterator<T> {
+
+    private final ToyList<T> list;
+
+    private int origin;
+
+    private final int fence;
+
+    ToyListSpliterator(ToyList<T> list) {
+        this(list, 0, list.size());
+    }
+
+    private ToyListSpliterator(ToyList<T> list, int origin, int fence) {
+        this.list = list;
+        this.origin = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (origin >= fence) {
+            return false;
+        }
+        action.accept(list.get(origin++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        for (; origin < fence; origin++) {
+            action.accept(list.get(origin));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (origin + fence) >>> 1;
+        if (mid <= origin) {
+            return null;
+        }
+        Spliterator<T> prefix = new ToyListSpliterator<>(list, origin, mid);
+        origin = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+
+}
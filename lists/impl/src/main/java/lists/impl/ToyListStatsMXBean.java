@@ -0,0 +1,33 @@
+package lists.impl;
+
+import java.util.Map;
+
+/**
+ * What an InstrumentedToyList exposes through JMX. Latencies are in
+ * nanoseconds and keyed by operation name.
+ */
+public interface ToyListStatsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getResizes();
+
+    long getRowSplits();
+
+    long getRowMerges();
+
+    long getElementsShifted();
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getMedianNanos();
+
+    Map<String, Long> getP99Nanos();
+
+    Map<String, Long> getMaxNanos();
+
+    void reset();
+
+}
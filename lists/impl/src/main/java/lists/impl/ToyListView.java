@@ -0,0 +1,103 @@
+package lists.impl;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * A java.util.List backed by a ToyList: nothing is copied, every call goes
+ * straight to the toy list, and changes go both ways. Bulk operations, like
+ * subList(from, to).clear() or addAll(index, coll), map to the toy list's own
+ * bulk operations.
+ *
+ * Iterators are only fail-fast for changes made through the view itself.
+ */
+class ToyListView<T> extends AbstractList<T> implements RandomAccess {
+
+    final ToyList<T> list;
+
+    ToyListView(ToyList<T> list) {
+        this.list = list;
+    }
+
+    @Override
+    public T get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        return list.set(index, element);
+    }
+
+    @Override
+    public boolean add(T element) {
+        list.add(element);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        list.addAt(index, element);
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> coll) {
+        list.addAll(index, (Collection<T>) coll);
+        modCount++;
+        return !coll.isEmpty();
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = list.removeAt(index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        return list.indexOf((T) value);
+    }
+
+    @Override
+    public int lastIndexOf(Object value) {
+        return list.lastIndexOf((T) value);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return list.contains((T) value);
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        list.removeRange(fromIndex, toIndex);
+        modCount++;
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return list.spliterator();
+    }
+
+    @Override
+    public <E> E[] toArray(E[] target) {
+        return (E[]) list.toArray((T[]) target);
+    }
+
+}
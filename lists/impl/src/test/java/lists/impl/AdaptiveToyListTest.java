@@ -0,0 +1,64 @@
+package lists.impl;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class AdaptiveToyListTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new AdaptiveToyList<>(), () -> rng.nextInt(1000));
+    }
+
+    @Test
+    public void appendingAndReadingKeepsTheArrayLayout() {
+        AdaptiveToyList<Integer> list = new AdaptiveToyList<>();
+        Random rng = new Random();
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+            list.get(rng.nextInt(list.size()));
+        }
+        
+        assertEquals(AdaptiveToyList.Layout.ARRAY, list.layout());
+    }
+
+    @Test
+    public void insertsInTheMiddleMoveToRowsAndReadsMoveBack() {
+        AdaptiveToyList<Integer> list = new AdaptiveToyList<>();
+        Random rng = new Random();
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 5 * AdaptiveToyList.WINDOW; i++) {
+            list.addAt(rng.nextInt(list.size()), i);
+            list.removeAt(rng.nextInt(list.size()));
+        }
+        assertEquals(AdaptiveToyList.Layout.ROWS, list.layout());
+        
+        for (int i = 0; i < 100 * AdaptiveToyList.WINDOW; i++) {
+            list.set(rng.nextInt(list.size()), i);
+        }
+        assertEquals(AdaptiveToyList.Layout.ARRAY, list.layout());
+        assertEquals(100000, list.size());
+    }
+
+    @Test
+    public void migratingKeepsEveryElementInOrder() {
+        AdaptiveToyList<Integer> list = new AdaptiveToyList<>();
+        SelfTestingToyList<Integer> selfTesting = new SelfTestingToyList<>(list);
+        for (int i = 0; i < 20000; i++) {
+            selfTesting.add(i);
+        }
+        Random rng = new Random();
+        while (list.layout() == AdaptiveToyList.Layout.ARRAY) {
+            list.addAt(rng.nextInt(list.size()), -1);
+            list.removeAt(list.indexOf(-1));
+        }
+        selfTesting.add(20000);
+        selfTesting.indexOf(19999);
+    }
+
+}
@@ -0,0 +1,126 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+public class AppendOnlyDynamicArrayTest {
+
+    private static final int PRODUCERS = 16;
+
+    private final ExecutorService executor
+            = Executors.newFixedThreadPool(PRODUCERS + 1);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void appendsFromASingleThreadBehaveLikeAnyOtherList() {
+        Random rng = new Random();
+        SelfTestingToyList<Integer> selfTesting
+                = new SelfTestingToyList<>(new AppendOnlyDynamicArray<>(2));
+        for (int i = 0; i < 1000; i++) {
+            if (rng.nextBoolean()) {
+                selfTesting.add(rng.nextInt(100));
+            } else {
+                selfTesting.addAll(Collections.nCopies(rng.nextInt(5), i));
+            }
+            selfTesting.get(rng.nextInt(selfTesting.size() + 1));
+            selfTesting.indexOf(rng.nextInt(100));
+        }
+    }
+
+    @Test
+    public void concurrentAppendsAreAllKeptAndReadersOnlySeePublishedSlots()
+            throws Exception {
+        AppendOnlyDynamicArray<Integer> list = new AppendOnlyDynamicArray<>();
+        int perProducer = 20000;
+        AtomicBoolean producing = new AtomicBoolean(true);
+        Future<?> reader = executor.submit(() -> {
+            while (producing.get()) {
+                int size = list.size();
+                if (size > 0) {
+                    assertNotNull(list.get(size - 1));
+                }
+            }
+        });
+        List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int first = p * perProducer;
+            producers.add(executor.submit(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    list.add(i);
+                }
+            }));
+        }
+        for (Future<?> producer : producers) {
+            producer.get();
+        }
+        producing.set(false);
+        reader.get();
+
+        assertEquals(PRODUCERS * perProducer, list.size());
+        assertEquals(
+                IntStream.range(0, PRODUCERS * perProducer).boxed().collect(Collectors.toList()),
+                list.asList().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void elementsCantBeRemoved() {
+        AppendOnlyDynamicArray<Integer> list = new AppendOnlyDynamicArray<>();
+        list.add(1);
+        list.removeAt(0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void elementsCantBeInsertedInTheMiddle() {
+        AppendOnlyDynamicArray<Integer> list = new AppendOnlyDynamicArray<>();
+        list.add(1);
+        list.addAt(0, 2);
+    }
+
+    @Test
+    public void theLastSlotFitsInTheLastChunk() {
+        for (int capacity : new int[] {1, 32, 1 << 30}) {
+            AppendOnlyDynamicArray<Integer> list 
+                    = new AppendOnlyDynamicArray<>(capacity);
+            int lastChunk = 30 - Integer.numberOfTrailingZeros(capacity);
+            long last = list.positionOf(Integer.MAX_VALUE - capacity);
+            long first = list.positionOf((1 << 30) - capacity);
+            
+            assertEquals(lastChunk, list.chunkOf(first));
+            assertEquals(0, list.offsetOf(first, lastChunk));
+            assertEquals(lastChunk, list.chunkOf(last));
+            assertEquals((1 << 30) - 1, list.offsetOf(last, lastChunk));
+        }
+    }
+
+    @Test
+    public void appendingPastTheLastSlotFails() {
+        for (int reserved : new int[] {Integer.MAX_VALUE - 31, Integer.MAX_VALUE}) {
+            AppendOnlyDynamicArray<Integer> list = new AppendOnlyDynamicArray<>();
+            list.reserved.set(reserved);
+            try {
+                list.add(1);
+                fail("Appended at " + reserved);
+            } catch (IllegalStateException e) {
+                assertEquals("List is full", e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class BTreeListTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(new BTreeList<>(4),
+                () -> rng.nextInt(1000));
+    }
+
+    @Test
+    public void staysBalancedThroughRandomEdits() {
+        Random rng = new Random();
+        BTreeList<Integer> list = new BTreeList<>(4);
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int value = rng.nextInt();
+            // Grows for the first half, shrinks for the second
+            boolean insert = reference.isEmpty()
+                    || rng.nextInt(10) < (i < 10_000 ? 7 : 3);
+            if (insert) {
+                int index = rng.nextInt(reference.size() + 1);
+                list.addAt(index, value);
+                reference.add(index, value);
+            } else {
+                int index = rng.nextInt(reference.size());
+                assertEquals(reference.remove(index), list.removeAt(index));
+            }
+            if (i % 100 == 0) {
+                checkInvariants(list, reference);
+            }
+        }
+        checkInvariants(list, reference);
+    }
+
+    @Test
+    public void removingAfterAppendsKeepsNodesHalfFull() {
+        BTreeList<Integer> list = new BTreeList<>(4);
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < 17; i++) {
+            list.add(i);
+            reference.add(i);
+        }
+        checkInvariants(list, reference);
+
+        list.removeAt(16);
+        reference.remove(16);
+
+        checkInvariants(list, reference);
+    }
+
+    @Test
+    public void appendsKeepNodesHalfFull() {
+        BTreeList<Integer> list = new BTreeList<>(8);
+        List<Integer> reference = new ArrayList<>();
+        for (int i = 0; i < 8 * 8 * 8; i++) {
+            list.add(i);
+            reference.add(i);
+        }
+
+        checkInvariants(list, reference);
+        assertTrue(list.height() <= 4);
+    }
+
+    @Test
+    public void heightIsLogarithmic() {
+        BTreeList<Integer> list = new BTreeList<>(16);
+        for (int i = 0; i < 100_000; i++) {
+            list.addAt(i / 2, i);
+        }
+        // ceil(log8(100_000 / 8)) + 1, with nodes at least half full
+        assertTrue(list.height() <= 6);
+        for (int i = 0; i < 100_000; i++) {
+            list.removeAt(0);
+        }
+        assertEquals(1, list.height());
+        assertEquals(0, list.size());
+    }
+
+    private static void checkInvariants(BTreeList<Integer> list,
+            List<Integer> reference) {
+        assertEquals(reference, list.asList());
+        assertEquals(reference.size(), checkSizes(list.root));
+        checkShape(list.root, true, list.height());
+        int chained = 0;
+        for (BTreeList.Leaf leaf = firstLeaf(list); leaf != null;
+                leaf = leaf.next) {
+            chained += leaf.size;
+        }
+        assertEquals(reference.size(), chained);
+    }
+
+    /**
+     * Every node but the root is at least half full, and every leaf is at
+     * the same depth.
+     */
+    private static void checkShape(BTreeList.Node node, boolean isRoot,
+            int levelsLeft) {
+        int nodeSize = node instanceof BTreeList.Leaf
+                ? ((BTreeList.Leaf) node).elements.length
+                : ((BTreeList.Branch) node).children.length;
+        if (!isRoot) {
+            assertTrue(node.slots() >= nodeSize / 2);
+        }
+        if (node instanceof BTreeList.Leaf) {
+            assertEquals(1, levelsLeft);
+            return;
+        }
+        BTreeList.Branch branch = (BTreeList.Branch) node;
+        for (int i = 0; i < branch.count; i++) {
+            checkShape(branch.children[i], false, levelsLeft - 1);
+        }
+    }
+
+    private static int checkSizes(BTreeList.Node node) {
+        if (node instanceof BTreeList.Leaf) {
+            return node.size;
+        }
+        BTreeList.Branch branch = (BTreeList.Branch) node;
+        int total = 0;
+        for (int i = 0; i < branch.count; i++) {
+            assertEquals(branch.sizes[i], checkSizes(branch.children[i]));
+            total += branch.sizes[i];
+        }
+        assertEquals(total, branch.size);
+        return total;
+    }
+
+    private static BTreeList.Leaf firstLeaf(BTreeList<Integer> list) {
+        BTreeList.Node node = list.root;
+        while (node instanceof BTreeList.Branch) {
+            node = ((BTreeList.Branch) node).children[0];
+        }
+        return (BTreeList.Leaf) node;
+    }
+
+}
@@ -1,7 +1,9 @@
 package lists.impl;
 
+import java.util.Collections;
 import java.util.Random;
 import lists.impl.BulkOptimizedDynamicArray;
+import static org.junit.Assert.*;
 import org.junit.Test;
 
 public class BulkOptimizedDyamicArrayTest {
@@ -12,5 +14,12 @@ public class BulkOptimizedDyamicArrayTest {
         new ToyListTestWithRandomCalls()
                 .test(new BulkOptimizedDynamicArray<Long>(), () -> rng.nextLong());
     }
+
+    @Test
+    public void addingACollectionGrowsJustEnoughToFitIt() {
+        BulkOptimizedDynamicArray<Long> darray = new BulkOptimizedDynamicArray<>();
+        darray.addAll(Collections.nCopies(100, 1L));
+        assertEquals(100, darray.array.length);
+    }
     
 }
@@ -0,0 +1,98 @@
+package lists.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CircularDynamicArrayTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(new CircularDynamicArray<>(1),
+                () -> rng.nextInt(1000));
+    }
+
+    @Test
+    public void frontAndBackEditsShiftNothing() {
+        CircularDynamicArray<Integer> list = new CircularDynamicArray<>(4);
+        int[] shifted = new int[1];
+        list.setStructuralListener(new StructuralListener() {
+            @Override
+            public void shifted(int elements) {
+                shifted[0] += elements;
+            }
+        });
+        Deque<Integer> reference = new ArrayDeque<>();
+        Random rng = new Random();
+        for (int i = 0; i < 10_000; i++) {
+            int value = rng.nextInt();
+            switch (rng.nextInt(4)) {
+                case 0:
+                    list.addAt(0, value);
+                    reference.addFirst(value);
+                    break;
+                case 1:
+                    list.add(value);
+                    reference.addLast(value);
+                    break;
+                case 2:
+                    if (!reference.isEmpty()) {
+                        assertEquals(reference.removeFirst(), list.removeAt(0));
+                    }
+                    break;
+                default:
+                    if (!reference.isEmpty()) {
+                        assertEquals(reference.removeLast(),
+                                list.removeAt(list.size() - 1));
+                    }
+            }
+        }
+
+        assertEquals(0, shifted[0]);
+        assertArrayEquals(reference.toArray(), list.toArray(new Integer[0]));
+    }
+
+    @Test
+    public void middleEditsShiftTheShorterSide() {
+        CircularDynamicArray<Integer> list = new CircularDynamicArray<>(16);
+        list.addAll(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        int[] shifted = new int[1];
+        list.setStructuralListener(new StructuralListener() {
+            @Override
+            public void shifted(int elements) {
+                shifted[0] += elements;
+            }
+        });
+
+        list.addAt(2, -1);
+        assertEquals(2, shifted[0]);
+        list.addAt(9, -2);
+        assertEquals(4, shifted[0]);
+        list.removeRange(1, 3);
+        assertEquals(5, shifted[0]);
+        list.removeAt(7);
+        assertEquals(7, shifted[0]);
+
+        assertEquals(Arrays.asList(0, 2, 3, 4, 5, 6, 7, 8, 9),
+                list.asList());
+    }
+
+    @Test
+    public void growingUnwrapsTheElements() {
+        CircularDynamicArray<Integer> list = new CircularDynamicArray<>(4);
+        list.addAll(Arrays.asList(2, 3));
+        list.addAt(0, 1);
+        list.addAt(0, 0);
+        assertNotEquals(0, list.head);
+
+        list.add(4);
+
+        assertEquals(0, list.head);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), list.asList());
+    }
+
+}
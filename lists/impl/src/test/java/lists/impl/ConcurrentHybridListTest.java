@@ -0,0 +1,101 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+public class ConcurrentHybridListTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(new ConcurrentHybridList<>(3), () -> rng.nextInt(1000), 1000);
+    }
+
+    @Test
+    public void concurrentAppendsAreAllKept() throws Exception {
+        ConcurrentHybridList<Integer> list = new ConcurrentHybridList<>(7);
+        int perThread = 10000;
+        List<Future<?>> appenders = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int first = t * perThread;
+            appenders.add(executor.submit(() -> {
+                for (int i = first; i < first + perThread; i++) {
+                    if (i % 2 == 0) {
+                        list.add(i);
+                    } else {
+                        list.addAll(IntStream.of(i)
+                                .boxed()
+                                .collect(Collectors.toList()));
+                    }
+                }
+            }));
+        }
+        for (Future<?> appender : appenders) {
+            appender.get();
+        }
+
+        assertEquals(THREADS * perThread, list.size());
+        assertEquals(
+                IntStream.range(0, THREADS * perThread).boxed().collect(Collectors.toList()),
+                list.asList().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void readersNeverSeeUnpublishedOrShiftedSlots() throws Exception {
+        ConcurrentHybridList<Integer> list = new ConcurrentHybridList<>(5);
+        int size = 1000;
+        for (int i = 0; i < size; i++) {
+            list.add(0);
+        }
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS - 1; t++) {
+            workers.add(executor.submit(() -> {
+                Random rng = new Random();
+                for (int i = 0; i < 20000; i++) {
+                    int index = rng.nextInt(size);
+                    if (rng.nextBoolean()) {
+                        list.set(index, 0);
+                    } else {
+                        assertEquals(0, (int) list.get(index));
+                    }
+                }
+            }));
+        }
+        workers.add(executor.submit(() -> {
+            for (int i = 0; i < 500; i++) {
+                list.addAt(i % size, 0);
+                list.removeAt(size - 1);
+                list.add(0);
+                list.removeAt(0);
+            }
+        }));
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+
+        assertEquals(size, list.size());
+        assertEquals(-1, list.indexOf(null));
+    }
+
+}
@@ -0,0 +1,33 @@
+package lists.impl;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class DoubleDynamicArrayTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(new DoubleDynamicArray(), () -> rng.nextDouble());
+    }
+
+    @Test
+    public void primitiveOverloadsShouldMatchTheirBoxedCounterparts() {
+        DoubleDynamicArray list = new DoubleDynamicArray();
+        for (int i = 0; i < 10; i++) {
+            list.add(7.5);
+        }
+        list.addAt(4, 42.5);
+        assertEquals(42.5, list.getDouble(4), 0);
+        assertEquals(4, list.indexOf(42.5));
+        assertEquals(42.5, list.set(4, 7.5), 0);
+        assertEquals(0, list.indexOf(7.5));
+        assertEquals(-1, list.indexOf((Double) null));
+        assertEquals(7.5, list.removeDoubleAt(10), 0);
+        assertEquals(10, list.size());
+        assertEquals(list.asList().size(), list.toDoubleArray().length);
+    }
+
+}
@@ -1,7 +1,12 @@
 package lists.impl;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lists.impl.DynamicArray;
+import static org.junit.Assert.*;
 import org.junit.Test;
 
 public class DynamicArrayTest {
@@ -12,5 +17,44 @@ public class DynamicArrayTest {
         new ToyListTestWithRandomCalls()
                 .test(new DynamicArray<Long>(), () -> rng.nextLong());
     }
+
+    @Test
+    public void testAllOperationsRandomlySearchingInParallel() {
+        DynamicArray<Long> darray = new DynamicArray<Long>();
+        darray.setParallelSearch(new ParallelSearch(ForkJoinPool.commonPool(), 1));
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(darray, () -> rng.nextLong(), 1000);
+    }
+    
+    @Test
+    public void ensuringCapacityGrowsAccordingToTheGrowthPolicy() {
+        DynamicArray<Integer> darray 
+                = new DynamicArray<>(4, GrowthPolicy.fixedIncrement(3));
+        darray.ensureCapacity(5);
+        assertEquals(7, darray.array.length);
+        darray.ensureCapacity(2);
+        assertEquals(7, darray.array.length);
+    }
+    
+    @Test
+    public void trimmingShrinksTheBackingArrayToTheListSize() {
+        DynamicArray<Integer> darray = new DynamicArray<>();
+        darray.addAll(Arrays.asList(1, 2, 3));
+        darray.trimToSize();
+        assertEquals(3, darray.array.length);
+        darray.add(4);
+        assertEquals(Arrays.asList(1, 2, 3, 4), darray.asList());
+    }
+    
+    @Test
+    public void parallelStreamsSeeEveryElementInOrder() {
+        DynamicArray<Integer> darray = new DynamicArray<>();
+        darray.addAll(IntStream.range(0, 10000).boxed().collect(Collectors.toList()));
+        
+        assertEquals(darray.asList(), 
+                darray.parallelStream().collect(Collectors.toList()));
+        assertEquals(10000, darray.stream().count());
+    }
     
 }
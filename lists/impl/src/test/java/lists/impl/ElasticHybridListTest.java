@@ -0,0 +1,89 @@
+package lists.impl;
+
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ElasticHybridListTest {
+
+    private ElasticHybridList<Integer> list;
+
+    @Test
+    public void testAllOperationsRandomly() {
+        list = new ElasticHybridList<>(2, 4);
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(list, () -> rng.nextInt(1000), 1000);
+    }
+
+    @Test
+    public void addingToAPositionOfAFullRowSplitsOnlyThatRow() {
+        list = new ElasticHybridList<>(2, 4);
+        SelfTestingToyList<Integer> selfTesting = new SelfTestingToyList<>(list);
+
+        selfTesting.addAll(IntStream.range(0, 4 * 5)
+                .boxed()
+                .collect(Collectors.toList()));
+        selfTesting.addAt(5, 55);
+
+        assertEquals(6, list.table.size());
+        assertEquals(4, list.table.get(0).size());
+        assertEquals(2, list.table.get(1).size());
+        assertEquals(3, list.table.get(2).size());
+        assertEquals(4, list.table.get(5).size());
+    }
+
+    @Test
+    public void removingFromARowLeftBelowItsMinimumMergesItWithANeighbour() {
+        list = new ElasticHybridList<>(2, 4);
+        SelfTestingToyList<Integer> selfTesting = new SelfTestingToyList<>(list);
+
+        selfTesting.addAll(IntStream.range(0, 4 * 2 + 2)
+                .boxed()
+                .collect(Collectors.toList()));
+        selfTesting.removeAt(5);
+        selfTesting.removeAt(5);
+        selfTesting.removeAt(4);
+
+        assertEquals(2, list.table.size());
+        assertEquals(3, list.table.get(1).size());
+    }
+
+    @Test
+    public void removingFromARowLeftBelowItsMinimumBorrowsFromAFullNeighbour() {
+        list = new ElasticHybridList<>(2, 4);
+        SelfTestingToyList<Integer> selfTesting = new SelfTestingToyList<>(list);
+
+        selfTesting.addAll(IntStream.range(0, 4 * 3)
+                .boxed()
+                .collect(Collectors.toList()));
+        selfTesting.removeAt(5);
+        selfTesting.removeAt(5);
+        selfTesting.removeAt(4);
+
+        assertEquals(3, list.table.size());
+        assertEquals(3, list.table.get(1).size());
+        assertEquals(2, list.table.get(2).size());
+    }
+
+    @Test
+    public void removingTheLastElementOfARowRemovesThatRow() {
+        list = new ElasticHybridList<>(1, 4);
+        SelfTestingToyList<Integer> selfTesting = new SelfTestingToyList<>(list);
+
+        selfTesting.addAll(IntStream.range(0, 5)
+                .boxed()
+                .collect(Collectors.toList()));
+        selfTesting.removeAt(4);
+
+        assertEquals(1, list.table.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minimumRowSizeCantBeMoreThanHalfTheMaximum() {
+        new ElasticHybridList<Integer>(3, 4);
+    }
+
+}
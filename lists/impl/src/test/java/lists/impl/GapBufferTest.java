@@ -0,0 +1,80 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class GapBufferTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(new GapBuffer<>(1),
+                () -> rng.nextInt(1000));
+    }
+
+    @Test
+    public void editsAtTheCursorShiftNothing() {
+        GapBuffer<Integer> buffer = new GapBuffer<>(1024);
+        for (int i = 0; i < 1000; i++) {
+            buffer.add(i);
+        }
+        int[] shifted = new int[1];
+        buffer.setStructuralListener(new StructuralListener() {
+            @Override
+            public void shifted(int elements) {
+                shifted[0] += elements;
+            }
+        });
+
+        buffer.addAt(500, -1);
+        assertEquals(500, shifted[0]);
+        for (int i = 0; i < 10; i++) {
+            buffer.addAt(501 + i, -1);
+        }
+        buffer.removeAt(510);
+        buffer.removeAt(509);
+        buffer.addAt(509, -2);
+        assertEquals(500, shifted[0]);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        expected.addAll(500, Arrays.asList(-1, -1, -1, -1, -1, -1, -1, -1, -1,
+                -2));
+        assertEquals(expected, buffer.asList());
+    }
+
+    @Test
+    public void growingKeepsBothSidesOfTheGap() {
+        GapBuffer<Integer> buffer = new GapBuffer<>(4);
+        buffer.addAll(Arrays.asList(0, 1, 2, 3));
+        buffer.addAt(2, 10);
+        buffer.addAt(3, 11);
+        buffer.addAll(4, Arrays.asList(12, 13, 14));
+
+        assertEquals(Arrays.asList(0, 1, 10, 11, 12, 13, 14, 2, 3),
+                buffer.asList());
+        assertEquals(2, buffer.get(7).intValue());
+        assertEquals(7, buffer.indexOf(2));
+    }
+
+    @Test
+    public void slotsLeftByTheGapAreCleared() {
+        GapBuffer<Integer> buffer = new GapBuffer<>(8);
+        buffer.addAll(Arrays.asList(0, 1, 2, 3, 4, 5));
+        buffer.removeAt(1);
+        buffer.removeAt(3);
+        buffer.removeRange(0, 2);
+
+        for (int i = buffer.gapStart; i < buffer.gapEnd; i++) {
+            assertNull(buffer.buffer[i]);
+        }
+        assertEquals(Arrays.asList(3, 5), buffer.asList());
+    }
+
+}
@@ -0,0 +1,48 @@
+package lists.impl;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class GrowthPolicyTest {
+
+    @Test
+    public void multiplyingPoliciesScaleTheCurrentCapacity() {
+        assertEquals(64, GrowthPolicy.doubling().grow(32, 33));
+        assertEquals(48, GrowthPolicy.oneAndAHalf().grow(32, 33));
+    }
+
+    @Test
+    public void everyPolicyGrowsAtLeastToTheMinimumCapacity() {
+        assertEquals(1, GrowthPolicy.doubling().grow(0, 1));
+        assertEquals(1000, GrowthPolicy.doubling().grow(32, 1000));
+        assertEquals(1000, GrowthPolicy.fixedIncrement(10).grow(32, 1000));
+        assertEquals(1000, GrowthPolicy.capped(GrowthPolicy.doubling(), 10)
+                .grow(32, 1000));
+    }
+
+    @Test
+    public void fixedIncrementAddsTheSameAmountEveryTime() {
+        assertEquals(42, GrowthPolicy.fixedIncrement(10).grow(32, 33));
+    }
+
+    @Test
+    public void exactFitForBulkOnlyKicksInForMoreThanOneElement() {
+        GrowthPolicy policy = GrowthPolicy.exactFitForBulk(GrowthPolicy.doubling());
+        assertEquals(64, policy.grow(32, 33));
+        assertEquals(40, policy.grow(32, 40));
+    }
+
+    @Test
+    public void cappedPoliciesNeverAddMoreThanTheCap() {
+        GrowthPolicy policy = GrowthPolicy.capped(GrowthPolicy.doubling(), 100);
+        assertEquals(64, policy.grow(32, 33));
+        assertEquals(1100, policy.grow(1000, 1001));
+    }
+
+    @Test
+    public void growingNeverOverflows() {
+        assertEquals(GrowthPolicy.MAX_CAPACITY, GrowthPolicy.doubling()
+                .grow(Integer.MAX_VALUE / 2 + 1, Integer.MAX_VALUE / 2 + 2));
+    }
+
+}
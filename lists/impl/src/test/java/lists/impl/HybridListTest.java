@@ -1,7 +1,12 @@
 package lists.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import static org.junit.Assert.*;
@@ -19,6 +24,15 @@ public class HybridListTest {
                 .test(list, () -> rng.nextInt(1000), 1000);
     }
     
+    @Test
+    public void testAllOperationsRandomlySearchingInParallel() {
+        list = new HybridList<>(3);
+        list.setParallelSearch(new ParallelSearch(ForkJoinPool.commonPool(), 1));
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(list, () -> rng.nextInt(1000), 1000);
+    }
+    
     @Test
     public void addingToAPositionOfAFullOnlyRowShouldShiftTheLastElementToANewRow() {
         SelfTestingToyList<Integer> selfTesting 
@@ -101,6 +115,202 @@ public class HybridListTest {
                 .boxed()
                 .collect(Collectors.toList()));
         selfTesting.removeAt(rowSize + 1);
-    } 
+    }
+
+    @Test
+    public void addingACollectionToAPositionKeepsEveryRowButTheLastFull() {
+        int rowSize = 3;
+        list = new HybridList<>(rowSize);
+        SelfTestingToyList<Integer> selfTesting = new SelfTestingToyList<>(list);
+        
+        selfTesting.addAll(IntStream.range(0, rowSize * 3)
+                .boxed()
+                .collect(Collectors.toList()));
+        selfTesting.addAll(rowSize + 1, Arrays.asList(50, 51, 52, 53));
+        assertEquals(5, list.table.size());
+        assertEquals(1, list.table.get(4).size());
+        selfTesting.removeRange(1, 8);
+        assertEquals(2, list.table.size());
+        assertEquals(3, list.table.get(0).size());
+    }
+
+    @Test
+    public void snapshotsAreUnaffectedByChangesToEitherList() {
+        Random rng = new Random();
+        list = new HybridList<>(3);
+        List<HybridList<Integer>> snapshots = new ArrayList<>();
+        List<List<Integer>> expected = new ArrayList<>();
+        HybridList<Integer> current = list;
+        for (int i = 0; i < 2000; i++) {
+            int index = rng.nextInt(current.size() + 1);
+            switch (rng.nextInt(7)) {
+                case 0:
+                    current.add(i);
+                    break;
+                case 1:
+                    current.addAt(index, i);
+                    break;
+                case 2:
+                    if (index < current.size()) {
+                        current.removeAt(index);
+                    }
+                    break;
+                case 3:
+                    if (index < current.size()) {
+                        current.set(index, i);
+                    }
+                    break;
+                case 4:
+                    current.addAll(index, Arrays.asList(i, i, i, i));
+                    break;
+                case 5:
+                    current.removeRange(index,
+                            Math.min(current.size(), index + 4));
+                    break;
+                default:
+                    snapshots.add(current.snapshot());
+                    expected.add(current.asList());
+                    // Keep going with either side, since both must copy rows
+                    if (rng.nextBoolean()) {
+                        current = snapshots.get(snapshots.size() - 1);
+                        snapshots.set(snapshots.size() - 1, list);
+                        list = current;
+                    }
+            }
+        }
+        
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertEquals(expected.get(i), snapshots.get(i).asList());
+        }
+    }
+    
+    @Test
+    public void rowsUntouchedAfterASnapshotStayShared() {
+        int rowSize = 3;
+        list = new HybridList<>(rowSize);
+        list.addAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        HybridList<Integer> snapshot = list.snapshot();
+        assertSame(list.table, snapshot.table);
+        
+        list.set(4, 50);
+        assertNotSame(list.table, snapshot.table);
+        assertSame(list.table.get(0), snapshot.table.get(0));
+        assertNotSame(list.table.get(1), snapshot.table.get(1));
+        assertSame(list.table.get(2), snapshot.table.get(2));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), snapshot.asList());
+    }
+    
+    @Test
+    public void spliteratorsSplitOnRowBoundaries() {
+        list = new HybridList<>(4);
+        list.addAll(IntStream.range(0, 10).boxed().collect(Collectors.toList()));
+        
+        Spliterator<Integer> suffix = list.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertEquals(4, prefix.estimateSize());
+        assertEquals(6, suffix.estimateSize());
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        List<Integer> elements = new ArrayList<>();
+        prefix.forEachRemaining(elements::add);
+        suffix.forEachRemaining(elements::add);
+        assertEquals(list.asList(), elements);
+    }
+    
+    @Test
+    public void parallelStreamsSeeEveryElement() {
+        list = new HybridList<>(7);
+        list.addAll(IntStream.range(0, 10000).boxed().collect(Collectors.toList()));
+        
+        assertEquals(IntStream.range(0, 10000).sum(),
+                list.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(list.asList(), 
+                list.parallelStream().collect(Collectors.toList()));
+    }
+    
+    @Test
+    public void testAllOperationsRandomlyWithAPowerOfTwoRowSize() {
+        list = new HybridList<>(4);
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(list, () -> rng.nextInt(1000), 1000);
+    }
+    
+    @Test
+    public void listIteratorsWalkBothWaysAcrossRows() {
+        for (int rowSize : new int[]{3, 4}) {
+            list = new HybridList<>(rowSize);
+            list.addAll(IntStream.range(0, 10).boxed().collect(Collectors.toList()));
+            
+            List<Integer> forward = new ArrayList<>();
+            for (Integer element : list) {
+                forward.add(element);
+            }
+            assertEquals(list.asList(), forward);
+            
+            ListIterator<Integer> iterator = list.listIterator(list.size());
+            for (int i = 9; i >= 0; i--) {
+                assertEquals(i + 1, iterator.nextIndex());
+                assertEquals(i, (int) iterator.previous());
+            }
+            assertFalse(iterator.hasPrevious());
+        }
+    }
+    
+    @Test
+    public void changesThroughListIteratorsMatchAnArrayList() {
+        for (int rowSize : new int[]{3, 4}) {
+            list = new HybridList<>(rowSize);
+            List<Integer> reference = new ArrayList<>();
+            list.addAll(IntStream.range(0, 20).boxed().collect(Collectors.toList()));
+            reference.addAll(list.asList());
+            
+            ListIterator<Integer> underTest = list.listIterator(2);
+            ListIterator<Integer> expected = reference.listIterator(2);
+            Random rng = new Random();
+            for (int i = 0; i < 200; i++) {
+                boolean forward = expected.hasNext() 
+                        && (rng.nextBoolean() || !expected.hasPrevious());
+                if (forward) {
+                    assertEquals(expected.next(), underTest.next());
+                } else if (expected.hasPrevious()) {
+                    assertEquals(expected.previous(), underTest.previous());
+                } else {
+                    continue;
+                }
+                switch (rng.nextInt(4)) {
+                    case 0:
+                        expected.set(-i);
+                        underTest.set(-i);
+                        break;
+                    case 1:
+                        expected.remove();
+                        underTest.remove();
+                        break;
+                    case 2:
+                        expected.add(i);
+                        underTest.add(i);
+                        break;
+                    default:
+                }
+                assertEquals(expected.nextIndex(), underTest.nextIndex());
+                assertEquals(reference, list.asList());
+            }
+        }
+    }
+    
+    @Test
+    public void settingThroughAnIteratorLeavesSnapshotsAlone() {
+        list = new HybridList<>(4);
+        list.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        HybridList<Integer> snapshot = list.snapshot();
+        
+        ListIterator<Integer> iterator = list.listIterator();
+        while (iterator.hasNext()) {
+            iterator.set(iterator.next() * 10);
+        }
+        
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50), list.asList());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), snapshot.asList());
+    }
     
 }
@@ -0,0 +1,77 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IndexedToyListTest {
+
+    @Test
+    public void testAllOperationsRandomlyOverADynamicArray() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new IndexedToyList<>(new DynamicArray<>()), 
+                () -> rng.nextInt(100));
+    }
+
+    @Test
+    public void testAllOperationsRandomlyOverAHybridList() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new IndexedToyList<>(new HybridList<>(3)), 
+                () -> rng.nextInt(100), 1000);
+    }
+
+    @Test
+    public void streamsUseTheWrappedListsSpliterator() {
+        HybridList<Integer> hybrid = new HybridList<>(3);
+        IndexedToyList<Integer> indexed = new IndexedToyList<>(hybrid);
+        indexed.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        
+        assertSame(hybrid.spliterator().getClass(), 
+                indexed.spliterator().getClass());
+        assertEquals(15, indexed.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void existingElementsAreIndexedWhenWrapped() {
+        DynamicArray<String> darray = new DynamicArray<>();
+        darray.addAll(Arrays.asList("a", "b", "a", null));
+        IndexedToyList<String> indexed = new IndexedToyList<>(darray);
+        
+        assertEquals(0, indexed.indexOf("a"));
+        assertEquals(2, indexed.lastIndexOf("a"));
+        assertEquals(3, indexed.indexOf(null));
+        assertFalse(indexed.contains("c"));
+    }
+
+    @Test
+    public void insertingAndRemovingInTheMiddleShiftsIndexedPositions() {
+        IndexedToyList<String> indexed = new IndexedToyList<>(new HybridList<>(2));
+        indexed.addAll(Arrays.asList("a", "b", "c"));
+        indexed.addAt(0, "z");
+        assertEquals(3, indexed.indexOf("c"));
+        indexed.removeAt(1);
+        assertEquals(-1, indexed.indexOf("a"));
+        assertEquals(2, indexed.indexOf("c"));
+    }
+
+    @Test
+    public void theEstimatedIndexSizeGrowsWithDistinctValues() {
+        IndexedToyList<Integer> indexed = new IndexedToyList<>(new DynamicArray<>());
+        long empty = indexed.estimatedIndexBytes();
+        for (int i = 0; i < 1000; i++) {
+            indexed.add(i);
+        }
+        long distinct = indexed.estimatedIndexBytes();
+        indexed.clear();
+        for (int i = 0; i < 1000; i++) {
+            indexed.add(i % 10);
+        }
+        
+        assertTrue(empty < distinct);
+        assertTrue(indexed.estimatedIndexBytes() < distinct);
+    }
+
+}
@@ -0,0 +1,93 @@
+package lists.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class InstrumentedToyListTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new InstrumentedToyList<>(new ElasticHybridList<>(2, 8)), 
+                () -> rng.nextInt(1000), 1000);
+    }
+
+    @Test
+    public void resizesAndShiftsOfADynamicArrayAreCounted() {
+        InstrumentedToyList<Integer> list 
+                = new InstrumentedToyList<>(new DynamicArray<>(2));
+        list.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        list.addAt(1, 0);
+        list.removeAt(0);
+        
+        assertEquals(2, list.getResizes());
+        assertEquals(4 + 5, list.getElementsShifted());
+        assertEquals(1, list.histogram(InstrumentedToyList.Operation.ADD_AT).count());
+        assertEquals(Long.valueOf(1), list.getOperationCounts().get("REMOVE_AT"));
+    }
+
+    @Test
+    public void rowSplitsAndMergesOfAnElasticHybridListAreCounted() {
+        InstrumentedToyList<Integer> list 
+                = new InstrumentedToyList<>(new ElasticHybridList<>(2, 4));
+        list.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        list.addAt(0, 0);
+        assertEquals(1, list.getRowSplits());
+        
+        list.removeAt(0);
+        list.removeAt(0);
+        assertEquals(1, list.getRowMerges());
+    }
+
+    @Test
+    public void nothingIsRecordedWhileDisabled() {
+        InstrumentedToyList<Integer> list 
+                = new InstrumentedToyList<>(new DynamicArray<>(1));
+        list.setEnabled(false);
+        list.addAll(Arrays.asList(1, 2, 3));
+        list.addAt(0, 0);
+        
+        assertEquals(0, list.getResizes());
+        assertEquals(0, list.getElementsShifted());
+        assertTrue(list.getOperationCounts().isEmpty());
+        assertEquals(Arrays.asList(0, 1, 2, 3), list.asList());
+    }
+
+    @Test
+    public void streamingDoesntRecordGets() {
+        InstrumentedToyList<Integer> list 
+                = new InstrumentedToyList<>(new HybridList<>(16));
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        
+        assertEquals(999 * 1000 / 2, 
+                list.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, list.histogram(InstrumentedToyList.Operation.GET).count());
+    }
+
+    @Test
+    public void statsAreExposedThroughJmx() throws Exception {
+        InstrumentedToyList<Integer> list 
+                = new InstrumentedToyList<>(new HybridList<>(2));
+        ObjectName name = list.register("statsAreExposedThroughJmx");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            list.addAll(Arrays.asList(1, 2, 3));
+            list.addAt(0, 0);
+            
+            assertEquals(3L, server.getAttribute(name, "ElementsShifted"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, list.getElementsShifted());
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+}
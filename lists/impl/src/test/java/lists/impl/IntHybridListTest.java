@@ -0,0 +1,33 @@
+package lists.impl;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntHybridListTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(new IntHybridList(3), () -> rng.nextInt(1000), 1000);
+    }
+
+    @Test
+    public void primitiveOverloadsShouldMatchTheirBoxedCounterparts() {
+        IntHybridList list = new IntHybridList(3);
+        for (int i = 0; i < 10; i++) {
+            list.add(7);
+        }
+        list.addAt(4, 42);
+        assertEquals(42, list.getInt(4));
+        assertEquals(4, list.indexOf(42));
+        assertEquals(42, list.set(4, 7));
+        assertEquals(0, list.indexOf(7));
+        assertEquals(-1, list.indexOf((Integer) null));
+        assertEquals(7, list.removeIntAt(10));
+        assertEquals(10, list.size());
+        assertEquals(list.asList().size(), list.toIntArray().length);
+    }
+
+}
@@ -0,0 +1,56 @@
+package lists.impl;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreRecordedExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+        
+        assertEquals(20, histogram.count());
+        assertEquals(10, histogram.percentile(50));
+        assertEquals(20, histogram.percentile(100));
+        assertEquals(10.5, histogram.mean(), 0);
+    }
+
+    @Test
+    public void percentilesAreWithinABucketOfTheRecordedValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value < Long.MAX_VALUE / 3; value *= 3) {
+            histogram.reset();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+            
+            long p50 = histogram.percentile(50);
+            assertTrue(value + " recorded as " + p50, 
+                    p50 >= value && p50 <= value + value / 16);
+        }
+    }
+
+    @Test
+    public void bucketsNeverOverlap() {
+        long previousHighest = -1;
+        for (int bucket = 0; bucket < 900; bucket++) {
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertTrue(highest > previousHighest);
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest));
+            assertEquals(bucket, LatencyHistogram.bucketOf(previousHighest + 1));
+            previousHighest = highest;
+        }
+    }
+
+    @Test
+    public void emptyHistogramsReportZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.mean(), 0);
+    }
+
+}
@@ -0,0 +1,33 @@
+package lists.impl;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class LongDynamicArrayTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls()
+                .test(new LongDynamicArray(), () -> rng.nextLong());
+    }
+
+    @Test
+    public void primitiveOverloadsShouldMatchTheirBoxedCounterparts() {
+        LongDynamicArray list = new LongDynamicArray();
+        for (int i = 0; i < 10; i++) {
+            list.add(7L);
+        }
+        list.addAt(4, 42L);
+        assertEquals(42L, list.getLong(4));
+        assertEquals(4, list.indexOf(42L));
+        assertEquals(42L, list.set(4, 7L));
+        assertEquals(0, list.indexOf(7L));
+        assertEquals(-1, list.indexOf((Long) null));
+        assertEquals(7L, list.removeLongAt(10));
+        assertEquals(10, list.size());
+        assertEquals(list.asList().size(), list.toLongArray().length);
+    }
+
+}
@@ -0,0 +1,108 @@
+package lists.impl;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import lists.impl.MappedDynamicArray.Mode;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedDynamicArrayTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAllOperationsRandomly() throws IOException {
+        Random rng = new Random();
+        try (MappedDynamicArray<Long> list
+                = new MappedDynamicArray<>(newFile(), ElementCodec.LONG)) {
+            new ToyListTestWithRandomCalls()
+                    .test(list, () -> rng.nextLong(), 1000);
+        }
+    }
+
+    @Test
+    public void shiftingWorksAcrossSegments() throws IOException {
+        Random rng = new Random();
+        // 8 elements per segment
+        try (MappedDynamicArray<Long> list = new MappedDynamicArray<>(
+                newFile(), ElementCodec.LONG, Mode.READ_WRITE, 64)) {
+            new ToyListTestWithRandomCalls()
+                    .test(list, () -> rng.nextLong(), 1000);
+        }
+    }
+
+    @Test
+    public void reopeningAFileRestoresTheList() throws IOException {
+        Path path = newFile();
+        List<Long> values = LongStream.range(0, 1000)
+                .boxed()
+                .collect(Collectors.toList());
+        try (MappedDynamicArray<Long> list
+                = new MappedDynamicArray<>(path, ElementCodec.LONG)) {
+            list.addAll(values);
+            list.removeAt(0);
+        }
+
+        try (MappedDynamicArray<Long> list = new MappedDynamicArray<>(
+                path, ElementCodec.LONG, Mode.READ_ONLY)) {
+            assertEquals(values.subList(1, values.size()), list.asList());
+        }
+        try (MappedDynamicArray<Long> list
+                = new MappedDynamicArray<>(path, ElementCodec.LONG)) {
+            list.add(-1L);
+            assertEquals(1000, list.size());
+            assertEquals(-1L, (long) list.get(999));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void aListOpenedReadOnlyCantBeChanged() throws IOException {
+        Path path = newFile();
+        try (MappedDynamicArray<Integer> list
+                = new MappedDynamicArray<>(path, ElementCodec.INTEGER)) {
+            list.addAll(Arrays.asList(1, 2, 3));
+        }
+        try (MappedDynamicArray<Integer> list = new MappedDynamicArray<>(
+                path, ElementCodec.INTEGER, Mode.READ_ONLY)) {
+            list.set(0, 4);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void reopeningWithACodecOfADifferentWidthFails() throws IOException {
+        Path path = newFile();
+        try (MappedDynamicArray<Integer> list
+                = new MappedDynamicArray<>(path, ElementCodec.INTEGER)) {
+            list.add(1);
+        }
+        new MappedDynamicArray<>(path, ElementCodec.LONG, Mode.READ_ONLY);
+    }
+
+    @Test(expected = IOException.class)
+    public void reopeningAFileTooLargeToIndexFails() throws IOException {
+        Path path = newFile();
+        try (MappedDynamicArray<Integer> list
+                = new MappedDynamicArray<>(path, ElementCodec.INTEGER)) {
+            list.add(1);
+        }
+        // Sparse, so it doesn't actually take up any room
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(32 + 4 * (Integer.MAX_VALUE + 1L));
+        }
+        new MappedDynamicArray<>(path, ElementCodec.INTEGER, Mode.READ_ONLY);
+    }
+
+    private Path newFile() throws IOException {
+        return folder.newFile().toPath();
+    }
+
+}
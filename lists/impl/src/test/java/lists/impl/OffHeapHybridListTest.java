@@ -0,0 +1,59 @@
+package lists.impl;
+
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class OffHeapHybridListTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new OffHeapHybridList<>(ElementCodec.INTEGER, 3),
+                () -> rng.nextInt(1000),
+                1000);
+    }
+
+    @Test
+    public void testAllOperationsRandomlyWithWideElements() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new OffHeapHybridList<>(ElementCodec.LONG, 5),
+                rng::nextLong,
+                1000);
+    }
+
+    @Test
+    public void addingToAPositionOfAFullRowRecursivelyShiftsElementsToTheNextRows() {
+        int rowSize = 3;
+        OffHeapHybridList<Double> list
+                = new OffHeapHybridList<>(ElementCodec.DOUBLE, rowSize);
+        SelfTestingToyList<Double> selfTesting = new SelfTestingToyList<>(list);
+
+        selfTesting.addAll(IntStream.range(0, rowSize * 5)
+                .mapToObj(i -> i * 1.5)
+                .collect(Collectors.toList()));
+        selfTesting.addAt(rowSize + 1, 55.0);
+        assertEquals(6, list.table.size());
+        selfTesting.removeAt(rowSize - 1);
+        assertEquals(5, list.table.size());
+    }
+
+    @Test
+    public void rowsAreAllocatedOffHeapOneAtATime() {
+        OffHeapHybridList<Long> list
+                = new OffHeapHybridList<>(ElementCodec.LONG, 4);
+        list.add(1L);
+        assertEquals(4 * Long.BYTES, list.offHeapBytes());
+        assertTrue(list.table.get(0).isDirect());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullsCantBeStored() {
+        new OffHeapHybridList<>(ElementCodec.INTEGER, 3).add(null);
+    }
+
+}
@@ -0,0 +1,49 @@
+package lists.impl;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelSearchTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private final ParallelSearch search = new ParallelSearch(pool, 1);
+
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void firstFindsTheLeftmostMatchEvenWhenLaterChunksMatchToo() {
+        assertEquals(3, search.first(100000, 1, i -> i % 1000 == 3));
+        assertEquals(99999, search.first(100000, 1, i -> i == 99999));
+        assertEquals(-1, search.first(100000, 1, i -> false));
+    }
+
+    @Test
+    public void lastFindsTheRightmostMatchEvenWhenEarlierChunksMatchToo() {
+        assertEquals(99003, search.last(100000, 7, i -> i % 1000 == 3));
+        assertEquals(0, search.last(100000, 7, i -> i == 0));
+        assertEquals(-1, search.last(100000, 7, i -> false));
+    }
+
+    @Test
+    public void allReturnsEveryMatchInOrder() {
+        assertArrayEquals(
+                IntStream.range(0, 12345).filter(i -> i % 17 == 0).toArray(),
+                search.all(12345, 100, i -> i % 17 == 0));
+        assertArrayEquals(new int[0], search.all(0, 100, i -> true));
+    }
+
+    @Test
+    public void onlyRangesAtLeastThresholdLongAreWorthSplitting() {
+        ParallelSearch atLeastTen = new ParallelSearch(pool, 10);
+        assertFalse(atLeastTen.worthIt(9));
+        assertTrue(atLeastTen.worthIt(10));
+    }
+
+}
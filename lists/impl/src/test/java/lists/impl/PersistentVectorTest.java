@@ -0,0 +1,115 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class PersistentVectorTest {
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                PersistentVector.<Integer>empty().asTransient(),
+                () -> rng.nextInt(1000));
+    }
+
+    @Test
+    public void oldVersionsNeverChange() {
+        Random rng = new Random();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> reference = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int value = rng.nextInt();
+            int op = reference.isEmpty() ? 0 : rng.nextInt(10);
+            if (op < 5) {
+                vector = vector.withAppended(value);
+                reference.add(value);
+            } else if (op < 7) {
+                int index = rng.nextInt(reference.size());
+                vector = vector.withSet(index, value);
+                reference.set(index, value);
+            } else if (op == 7) {
+                vector = vector.withoutLast();
+                reference.remove(reference.size() - 1);
+            } else if (op == 8) {
+                int index = rng.nextInt(reference.size());
+                vector = vector.withRemoved(index);
+                reference.remove(index);
+            } else {
+                int index = rng.nextInt(reference.size() + 1);
+                vector = vector.withInserted(index, value);
+                reference.add(index, value);
+            }
+            if (i % 100 == 0) {
+                versions.add(vector);
+                expected.add(new ArrayList<>(reference));
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(expected.get(i), versions.get(i).asList());
+        }
+    }
+
+    @Test
+    public void growsAndShrinksAcrossLevels() {
+        int size = 32 * 32 * 32 + 100;
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < size; i++) {
+            vector = vector.withAppended(i);
+        }
+        assertEquals(3 * 5, vector.shift);
+        for (int i = 0; i < size; i += 97) {
+            assertEquals(i, vector.get(i).intValue());
+        }
+
+        PersistentVector.Transient<Integer> builder = vector.asTransient();
+        builder.removeRange(1000, size);
+        assertEquals(5, builder.persistent().shift);
+
+        while (vector.size() > 0) {
+            assertEquals(vector.size() - 1,
+                    vector.get(vector.size() - 1).intValue());
+            vector = vector.withoutLast();
+        }
+        assertEquals(5, vector.shift);
+    }
+
+    @Test
+    public void versionsShareUntouchedNodes() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 32 * 32 * 4; i++) {
+            values.add(i);
+        }
+        PersistentVector<Integer> original = PersistentVector.of(values);
+        PersistentVector<Integer> changed = original.withSet(0, -1);
+
+        assertNotSame(original.root.array[0], changed.root.array[0]);
+        for (int i = 1; i < 4; i++) {
+            assertSame(original.root.array[i], changed.root.array[i]);
+        }
+        assertSame(original.tail, changed.tail);
+        assertEquals(0, original.get(0).intValue());
+        assertEquals(-1, changed.get(0).intValue());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cantBeChangedInPlace() {
+        PersistentVector.<Integer>empty().add(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void transientCantBeChangedOncePersistent() {
+        PersistentVector.Transient<Integer> builder
+                = PersistentVector.<Integer>empty().asTransient();
+        builder.add(1);
+        builder.persistent();
+        builder.add(2);
+    }
+
+}
@@ -2,10 +2,15 @@ package lists.impl;
 
 import io.atlassian.fugue.Either;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import static org.junit.Assert.*;
 
 public class SelfTestingToyList<T> implements ToyList<T> {
@@ -34,6 +39,22 @@ public class SelfTestingToyList<T> implements ToyList<T> {
         assertEqualsToReference("mismatch after addAll(%s)", coll);
     }
 
+    @Override
+    public void addAll(int index, Collection<T> coll) {
+        Optional<Exception> underTestEx 
+                = callAndCatch(() -> underTest.addAll(index, coll));
+        Optional<Exception> referenceEx 
+                = callAndCatch(() -> { reference.addAll(index, coll); });
+        
+        assertEmptyOrIndexOutOfBounds(
+                String.format("addAll(%d, %s) mismatch for state %s", 
+                        index, coll, underTest),
+                referenceEx,
+                underTestEx);
+        
+        assertEqualsToReference("mismatch after addAll(%d, %s)", index, coll);
+    }
+
     @Override
     public void addAt(int index, T value) {
         Optional<Exception> underTestEx 
@@ -70,7 +91,9 @@ public class SelfTestingToyList<T> implements ToyList<T> {
                 referenceResult,
                 underTestResult);
         
-        return null;
+        return index >= 0 && index < reference.size() 
+                ? reference.get(index) 
+                : null;
     }
 
     @Override
@@ -83,6 +106,37 @@ public class SelfTestingToyList<T> implements ToyList<T> {
         return ret;
     }
 
+    @Override
+    public int lastIndexOf(T value) {
+        int ret = reference.lastIndexOf(value);
+        assertEquals(
+                String.format("lastIndexOf(%s) mismatch for state %s",
+                        value, underTest),
+                ret, underTest.lastIndexOf(value));
+        return ret;
+    }
+
+    @Override
+    public boolean contains(T value) {
+        boolean ret = reference.contains(value);
+        assertEquals(
+                String.format("contains(%s) mismatch for state %s",
+                        value, underTest),
+                ret, underTest.contains(value));
+        return ret;
+    }
+
+    @Override
+    public int[] findAll(Predicate<? super T> predicate) {
+        int[] ret = IntStream.range(0, reference.size())
+                .filter(i -> predicate.test(reference.get(i)))
+                .toArray();
+        assertArrayEquals(
+                String.format("findAll mismatch for state %s", underTest),
+                ret, underTest.findAll(predicate));
+        return ret;
+    }
+
     @Override
     public T removeAt(int index) {
         Either<Exception, T> referenceResult 
@@ -99,6 +153,28 @@ public class SelfTestingToyList<T> implements ToyList<T> {
         return null;
     }
 
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        Optional<Exception> underTestEx 
+                = callAndCatch(() -> underTest.removeRange(fromIndex, toIndex));
+        Optional<Exception> referenceEx = callAndCatch(() -> {
+            // subList would throw an IllegalArgumentException for from > to
+            if (fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException();
+            }
+            reference.subList(fromIndex, toIndex).clear();
+        });
+        
+        assertEmptyOrIndexOutOfBounds(
+                String.format("removeRange(%d, %d) mismatch for state %s", 
+                        fromIndex, toIndex, underTest),
+                referenceEx,
+                underTestEx);
+        
+        assertEqualsToReference(
+                "mismatch after removeRange(%d, %d)", fromIndex, toIndex);
+    }
+
     @Override
     public T set(int index, T value) {
         Either<Exception, T> referenceResult 
@@ -127,11 +203,50 @@ public class SelfTestingToyList<T> implements ToyList<T> {
 
     @Override
     public List<T> asList() {
+        assertEquals(
+                String.format("asList() mismatch for state %s", underTest),
+                reference, 
+                underTest.asList());
         return new ArrayList<>(reference);
     }
 
+    @Override
+    public Stream<T> stream() {
+        assertEquals(
+                String.format("stream() mismatch for state %s", underTest),
+                reference, 
+                underTest.stream().collect(Collectors.toList()));
+        assertEquals(
+                String.format("parallelStream() mismatch for state %s", 
+                        underTest),
+                reference, 
+                underTest.parallelStream().collect(Collectors.toList()));
+        return reference.stream();
+    }
+
+    @Override
+    public T[] toArray(T[] target) {
+        T[] tooSmall = (T[]) new Object[0];
+        T[] tooBig = (T[]) new Object[reference.size() + 2];
+        Arrays.fill(tooBig, new Object());
+        
+        assertEquals(
+                String.format("toArray(T[0]) mismatch for state %s", underTest),
+                reference, 
+                Arrays.asList(underTest.toArray(tooSmall)));
+        T[] filled = underTest.toArray(tooBig);
+        assertSame(tooBig, filled);
+        assertEquals(
+                String.format("toArray(T[size + 2]) mismatch for state %s", 
+                        underTest),
+                reference, 
+                Arrays.asList(filled).subList(0, reference.size()));
+        assertNull(filled[reference.size()]);
+        return reference.toArray(target);
+    }
+
     private void assertEqualsToReference(String message, Object ... args) {
-        assertEquals(String.format(message, args), reference, underTest.asList());
+        assertEquals(String.format(message, args), reference, underTest.view());
     }
     
     private Optional<Exception> callAndCatch(Runnable operation) {
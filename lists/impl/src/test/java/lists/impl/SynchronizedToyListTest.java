@@ -0,0 +1,61 @@
+package lists.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Test;
+
+public class SynchronizedToyListTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testAllOperationsRandomly() {
+        Random rng = new Random();
+        new ToyListTestWithRandomCalls().test(
+                new SynchronizedToyList<>(new HybridList<>(3)), 
+                () -> rng.nextInt(1000), 1000);
+    }
+
+    @Test
+    public void concurrentInsertsAndRemovalsKeepTheListConsistent() 
+            throws Exception {
+        SynchronizedToyList<Integer> list 
+                = new SynchronizedToyList<>(new DynamicArray<>());
+        int perThread = 2000;
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                Random rng = new Random();
+                for (int i = 0; i < perThread; i++) {
+                    list.add(1);
+                    list.addAt(0, 1);
+                    synchronized (list) {
+                        list.removeAt(rng.nextInt(list.size()));
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+
+        assertEquals(THREADS * perThread, list.size());
+        assertEquals(-1, list.indexOf(null));
+    }
+
+}
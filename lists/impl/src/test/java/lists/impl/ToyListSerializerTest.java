@@ -0,0 +1,125 @@
+package lists.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ToyListSerializerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsThroughAFile() throws IOException {
+        HybridList<Long> list = new HybridList<>(100);
+        Random rng = new Random();
+        for (int i = 0; i < 1234; i++) {
+            list.add(rng.nextLong());
+        }
+        ToyListSerializer<Long> serializer
+                = new ToyListSerializer<>(ElementCodec.LONG, 100, false);
+        Path path = folder.newFile().toPath();
+
+        try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.WRITE)) {
+            serializer.write(list, channel);
+        }
+        // 13 blocks, 12 of them full
+        assertEquals(32 + 13 * 8 + 1234 * 8, path.toFile().length());
+        HybridList<Long> copy;
+        try (FileChannel channel = FileChannel.open(path)) {
+            copy = serializer.read(channel, new HybridList<>(100));
+        }
+
+        assertEquals(list.asList(), copy.asList());
+    }
+
+    @Test
+    public void compressedBlocksRoundTrip() throws IOException {
+        DynamicArray<Integer> list = new DynamicArray<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(i % 10);
+        }
+        ToyListSerializer<Integer> serializer
+                = new ToyListSerializer<>(ElementCodec.INTEGER, 4096, true);
+
+        byte[] bytes = write(serializer, list);
+        assertTrue(bytes.length < 100_000);
+        DynamicArray<Integer> copy = serializer.read(
+                Channels.newChannel(new ByteArrayInputStream(bytes)),
+                new DynamicArray<>());
+
+        assertEquals(list.asList(), copy.asList());
+    }
+
+    @Test
+    public void anyBlockSizeCanReadItBack() throws IOException {
+        DynamicArray<Double> list = new DynamicArray<>();
+        list.add(1.5);
+        list.add(-2.0);
+        byte[] bytes = write(
+                new ToyListSerializer<>(ElementCodec.DOUBLE, 7, true), list);
+
+        BTreeList<Double> copy = new ToyListSerializer<>(ElementCodec.DOUBLE)
+                .read(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                        new BTreeList<>());
+
+        assertEquals(list.asList(), copy.asList());
+    }
+
+    @Test
+    public void emptyListsRoundTrip() throws IOException {
+        ToyListSerializer<Integer> serializer
+                = new ToyListSerializer<>(ElementCodec.INTEGER);
+        byte[] bytes = write(serializer, new DynamicArray<>());
+
+        assertEquals(32, bytes.length);
+        assertEquals(0, serializer.read(
+                Channels.newChannel(new ByteArrayInputStream(bytes)),
+                new DynamicArray<>()).size());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMismatchedWidths() throws IOException {
+        DynamicArray<Integer> list = new DynamicArray<>();
+        list.add(1);
+        byte[] bytes = write(
+                new ToyListSerializer<>(ElementCodec.INTEGER), list);
+
+        new ToyListSerializer<>(ElementCodec.LONG).read(
+                Channels.newChannel(new ByteArrayInputStream(bytes)),
+                new DynamicArray<>());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedStreams() throws IOException {
+        DynamicArray<Integer> list = new DynamicArray<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        ToyListSerializer<Integer> serializer
+                = new ToyListSerializer<>(ElementCodec.INTEGER, 4, false);
+        byte[] bytes = write(serializer, list);
+
+        serializer.read(Channels.newChannel(
+                new ByteArrayInputStream(bytes, 0, bytes.length - 1)),
+                new DynamicArray<>());
+    }
+
+    private static <T> byte[] write(ToyListSerializer<T> serializer,
+            ToyList<T> list) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.write(list, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+}
@@ -30,12 +30,20 @@ public class ToyListTestWithRandomCalls {
         return Arrays.asList(
                 argless::add,
                 argless::addAll,
+                argless::addAllAt,
                 argless::addAt,
                 argless::clear,
                 argless::set,
                 argless::get,
                 argless::indexOf,
+                argless::lastIndexOf,
+                argless::contains,
+                argless::findAll,
                 argless::removeAt,
+                argless::removeRange,
+                argless::toArray,
+                argless::asList,
+                argless::stream,
                 argless::size
         );
     }
@@ -66,6 +74,13 @@ class RandomArgsToyListAdpater<T> {
         instance.addAll(randomCollection);
     }
 
+    public void addAllAt() {
+        List<T> randomCollection = Stream.generate(randomElementSupplier::get)
+                .limit(rng.nextInt(100))
+                .collect(Collectors.toList());
+        instance.addAll(generatePossiblyOutOfBoundsIndex(), randomCollection);
+    }
+
     public void addAt() {
         int index = generatePossiblyOutOfBoundsIndex();
         instance.addAt(index, randomElementSupplier.get());
@@ -81,17 +96,45 @@ class RandomArgsToyListAdpater<T> {
     }
 
     public int indexOf() {
-        boolean shouldContain = instance.size() != 0 && rng.nextInt(100) < 75;
-        T value = shouldContain
-                ? instance.get(rng.nextInt(instance.size()))
-                : randomElementSupplier.get();
-        return instance.indexOf(value);
+        return instance.indexOf(possiblyContainedValue());
+    }
+
+    public int lastIndexOf() {
+        return instance.lastIndexOf(possiblyContainedValue());
+    }
+
+    public boolean contains() {
+        return instance.contains(possiblyContainedValue());
+    }
+
+    public int[] findAll() {
+        int divisor = rng.nextInt(10) + 1;
+        return instance.findAll(
+                value -> value == null || value.hashCode() % divisor == 0);
     }
 
     public T removeAt() {
         return instance.removeAt(generatePossiblyOutOfBoundsIndex());
     }
 
+    public void removeRange() {
+        int from = generatePossiblyOutOfBoundsIndex();
+        int to = from + rng.nextInt(instance.size() / 4 + 2) - 1;
+        instance.removeRange(from, to);
+    }
+
+    public void toArray() {
+        instance.toArray((T[]) new Object[0]);
+    }
+
+    public void asList() {
+        instance.asList();
+    }
+
+    public void stream() {
+        instance.stream();
+    }
+
     public void set() {
         instance.set(generatePossiblyOutOfBoundsIndex(), 
                 randomElementSupplier.get());
@@ -101,6 +144,13 @@ class RandomArgsToyListAdpater<T> {
         return instance.size();
     }
     
+    private T possiblyContainedValue() {
+        boolean shouldContain = instance.size() != 0 && rng.nextInt(100) < 75;
+        return shouldContain
+                ? instance.get(rng.nextInt(instance.size()))
+                : randomElementSupplier.get();
+    }
+    
     private int generatePossiblyOutOfBoundsIndex() {
         double around15PercentOfSize = (instance.size() + 1) * 0.15;
         int floor = (int) -Math.floor(around15PercentOfSize),
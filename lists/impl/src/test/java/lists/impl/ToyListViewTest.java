@@ -0,0 +1,58 @@
+package lists.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ToyListViewTest {
+
+    @Test
+    public void changesToTheViewAreSeenByTheList() {
+        HybridList<Integer> list = new HybridList<>(3);
+        List<Integer> view = list.view();
+        view.addAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        view.add(0, 0);
+        view.set(1, 10);
+        view.remove(2);
+        view.subList(3, 5).clear();
+        assertEquals(Arrays.asList(0, 10, 3, 6, 7), list.asList());
+    }
+
+    @Test
+    public void changesToTheListAreSeenByTheView() {
+        DynamicArray<Integer> list = new DynamicArray<>();
+        List<Integer> view = list.view();
+        list.addAll(Arrays.asList(1, 2, 3));
+        list.removeAt(0);
+        assertEquals(Arrays.asList(2, 3), view);
+        assertTrue(view.contains(3));
+        assertEquals(1, view.indexOf(3));
+        list.clear();
+        assertTrue(view.isEmpty());
+    }
+
+    @Test
+    public void viewsAreRandomAccess() {
+        assertTrue(new DynamicArray<Integer>().view() instanceof RandomAccess);
+        assertTrue(new HybridList<Integer>().unmodifiableView() 
+                instanceof RandomAccess);
+    }
+
+    @Test
+    public void unmodifiableViewsStillSeeChanges() {
+        DynamicArray<Integer> list = new DynamicArray<>();
+        List<Integer> view = list.unmodifiableView();
+        list.add(1);
+        assertEquals(Arrays.asList(1), view);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void unmodifiableViewsCantBeChanged() {
+        DynamicArray<Integer> list = new DynamicArray<>();
+        list.add(1);
+        list.unmodifiableView().set(0, 2);
+    }
+
+}